@@ -0,0 +1,64 @@
+package com.example.multiblogservice.benchmark;
+
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.service.DtoMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping. Content strings are shared, not copied, so the cost should not
+ * depend on content size; the parameter is there to prove it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "20", "200"})
+    public int postCount;
+
+    @Param({"1024", "204800"})
+    public int contentBytes;
+
+    private Blog blog;
+
+    private Post post;
+
+    @Setup
+    public void setUp() {
+        blog = Fixtures.blog(postCount, contentBytes);
+        post = blog.getPosts().get(0);
+    }
+
+    @Benchmark
+    public PostDTO post() {
+        return DtoMapper.toPostDTO(post);
+    }
+
+    @Benchmark
+    public List<PostDTO> postList() {
+        List<PostDTO> dtos = new ArrayList<>(blog.getPosts().size());
+        for (Post p : blog.getPosts()) {
+            dtos.add(DtoMapper.toPostDTO(p));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public BlogDTO blogWithPosts() {
+        return DtoMapper.toBlogDTO(blog);
+    }
+}
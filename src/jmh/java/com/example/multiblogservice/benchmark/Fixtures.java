@@ -0,0 +1,64 @@
+package com.example.multiblogservice.benchmark;
+
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like the ones the services read, and an ObjectMapper configured
+ * the way Spring Boot configures the one used by the controllers.
+ */
+final class Fixtures {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_000);
+
+    private Fixtures() {
+    }
+
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    static Blog blog(int postCount, int contentBytes) {
+        Blog blog = new Blog();
+        blog.setId(1L);
+        blog.setName("Benchmark Blog");
+        blog.setDescription("A blog used to measure mapping and serialization");
+        blog.setCreatedAt(BASE_TIME);
+        blog.setUpdatedAt(BASE_TIME);
+        List<Post> posts = new ArrayList<>(postCount);
+        for (int i = 0; i < postCount; i++) {
+            posts.add(post(blog, i, contentBytes));
+        }
+        blog.setPosts(posts);
+        return blog;
+    }
+
+    static Post post(Blog blog, long id, int contentBytes) {
+        Post post = new Post();
+        post.setId(id);
+        post.setBlog(blog);
+        post.setTitle("Post number " + id);
+        post.setContent(content(contentBytes, id));
+        post.setCreatedAt(BASE_TIME.plusMinutes(id));
+        post.setUpdatedAt(BASE_TIME.plusMinutes(id).plusSeconds(30));
+        return post;
+    }
+
+    // Mostly ASCII prose with the occasional character Jackson has to escape or encode.
+    private static String content(int bytes, long seed) {
+        String paragraph = "Lorem ipsum dolor sit amet, \"consectetur\" adipiscing elit; sed do eiusmod tempor. Caf\u00e9\n";
+        StringBuilder content = new StringBuilder(bytes + paragraph.length());
+        content.append(seed).append(' ');
+        while (content.length() < bytes) {
+            content.append(paragraph);
+        }
+        content.setLength(bytes);
+        return content.toString();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.multiblogservice.benchmark;
+
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.service.DtoMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response DTOs, including the {@code LocalDateTime} fields.
+ * The {@code *ToBytes} variants materialise the whole body the way a buffered response does;
+ * {@code postListToStream} writes to a discarding stream to separate encoding from buffering.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonSerializationBenchmark {
+
+    private static final int LIST_SIZE = 20;
+
+    @Param({"1024", "10240", "51200", "204800"})
+    public int contentBytes;
+
+    private ObjectWriter postWriter;
+
+    private ObjectWriter postListWriter;
+
+    private ObjectWriter blogWriter;
+
+    private PostDTO post;
+
+    private List<PostDTO> posts;
+
+    private BlogDTO blog;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        postWriter = objectMapper.writerFor(PostDTO.class);
+        postListWriter = objectMapper.writerFor(new TypeReference<List<PostDTO>>() { });
+        blogWriter = objectMapper.writerFor(BlogDTO.class);
+
+        Blog entity = Fixtures.blog(LIST_SIZE, contentBytes);
+        blog = DtoMapper.toBlogDTO(entity);
+        posts = blog.getPosts();
+        post = posts.get(0);
+    }
+
+    @Benchmark
+    public byte[] postToBytes() throws JsonProcessingException {
+        return postWriter.writeValueAsBytes(post);
+    }
+
+    @Benchmark
+    public byte[] postListToBytes() throws JsonProcessingException {
+        return postListWriter.writeValueAsBytes(posts);
+    }
+
+    @Benchmark
+    public void postListToStream() throws IOException {
+        postListWriter.writeValue(OutputStream.nullOutputStream(), posts);
+    }
+
+    @Benchmark
+    public byte[] blogWithPostsToBytes() throws JsonProcessingException {
+        return blogWriter.writeValueAsBytes(blog);
+    }
+}
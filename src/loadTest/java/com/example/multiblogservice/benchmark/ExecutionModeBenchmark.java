@@ -0,0 +1,237 @@
+package com.example.multiblogservice.benchmark;
+
+import com.example.multiblogservice.MultiBlogServiceApplication;
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.PriorityOrdered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares the platform-thread default against {@code spring.threads.virtual.enabled=true}.
+ * Both runs boot the app on H2 with the same simulated per-statement database latency and
+ * drive the same number of concurrent clients at the post listing endpoint.
+ *
+ * <p>Run with {@code ./gradlew benchmarkExecutionModes}; tune with the system properties
+ * {@code benchmark.clients}, {@code benchmark.seconds} and {@code benchmark.jdbcLatencyMs}.
+ */
+public final class ExecutionModeBenchmark {
+
+    private ExecutionModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("benchmark.clients", 400);
+        Duration duration = Duration.ofSeconds(Long.getLong("benchmark.seconds", 20));
+        long jdbcLatencyMs = Long.getLong("benchmark.jdbcLatencyMs", 5);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            results.add(run(virtual, clients, duration, jdbcLatencyMs));
+        }
+
+        System.out.printf("%n%d clients, %s per mode, %d ms simulated latency per statement%n",
+                clients, duration, jdbcLatencyMs);
+        System.out.printf("%-10s %12s %10s %10s %10s %10s %8s%n", "mode", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %12.1f %10.1f %10.1f %10.1f %10.1f %8d%n", result.mode(), result.throughput(),
+                    result.percentileMillis(50), result.percentileMillis(95), result.percentileMillis(99),
+                    result.percentileMillis(100), result.errors());
+        }
+        System.exit(0);
+    }
+
+    private static Result run(boolean virtual, int clients, Duration duration, long jdbcLatencyMs) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                MultiBlogServiceApplication.class, SimulatedLatency.class)
+                .run("--spring.profiles.active=loadtest",
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--spring.datasource.username=sa",
+                        "--multiblog.warmup.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--benchmark.jdbc-latency-ms=" + jdbcLatencyMs)) {
+            Long blogId = seed(context);
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI uri = URI.create("http://localhost:" + port + "/api/v1/blogs/" + blogId + "/posts?limit=20");
+            return drive(mode, uri, clients, duration);
+        }
+    }
+
+    private static Long seed(ConfigurableApplicationContext context) {
+        BlogService blogService = context.getBean(BlogService.class);
+        PostService postService = context.getBean(PostService.class);
+        BlogRepository blogRepository = context.getBean(BlogRepository.class);
+
+        Blog blog = new Blog();
+        blog.setName("Benchmark Blog");
+        blog.setDescription("Seeded by ExecutionModeBenchmark");
+        BlogDTO created = blogService.createBlog(blog);
+        Blog persisted = blogRepository.findById(created.getId()).orElseThrow();
+        for (int i = 0; i < 50; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("x".repeat(2_000));
+            post.setBlog(persisted);
+            postService.createPost(post);
+        }
+        return created.getId();
+    }
+
+    private static Result drive(String mode, URI uri, int clients, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        List<Future<long[]>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (java.io.IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, count * 2);
+                        }
+                        latencies[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, count);
+                }));
+            }
+        }
+
+        long[] all = futures.stream().map(ExecutionModeBenchmark::join).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(mode, all, errors.get(), duration);
+    }
+
+    private static long[] join(Future<long[]> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Result(String mode, long[] sortedLatencies, long errors, Duration duration) {
+
+        double throughput() {
+            return sortedLatencies.length / (duration.toMillis() / 1000.0);
+        }
+
+        double percentileMillis(double percentile) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    /**
+     * Adds a fixed delay to every statement execution, standing in for the network round
+     * trip to a real database. Deliberately not a {@code @Configuration}, so component
+     * scanning in the regular test suite never picks it up.
+     */
+    static class SimulatedLatency {
+
+        @Bean
+        static BeanPostProcessor simulatedLatencyPostProcessor(org.springframework.core.env.Environment environment) {
+            long latencyMs = environment.getProperty("benchmark.jdbc-latency-ms", Long.class, 5L);
+            // Highest precedence so the delay sits underneath the virtual-thread JDBC gate.
+            class LatencyPostProcessor implements BeanPostProcessor, PriorityOrdered {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof HikariDataSource dataSource) {
+                        return new DelegatingDataSource(dataSource) {
+                            @Override
+                            public Connection getConnection() throws SQLException {
+                                return slow(super.getConnection(), latencyMs);
+                            }
+                        };
+                    }
+                    return bean;
+                }
+            }
+            return new LatencyPostProcessor();
+        }
+
+        private static Connection slow(Connection connection, long latencyMs) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement) {
+                            return slow(statement, latencyMs);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement slow(PreparedStatement statement, long latencyMs) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().startsWith("execute")) {
+                            Thread.sleep(latencyMs);
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.multiblogservice.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and error accounting for one endpoint. Latencies are recorded in microseconds,
+ * from one microsecond up to one minute, with three significant digits.
+ */
+final class EndpointMetrics {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+
+    private final LongAdder errors = new LongAdder();
+
+    EndpointMetrics(String name) {
+        this.name = name;
+    }
+
+    String name() {
+        return name;
+    }
+
+    void recordSuccess(long elapsedNanos) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Drops everything recorded so far, used at the end of the warm-up.
+     */
+    void reset() {
+        recorder.reset();
+        errors.reset();
+    }
+
+    Snapshot snapshot() {
+        return new Snapshot(name, recorder.getIntervalHistogram(), errors.sum());
+    }
+
+    record Snapshot(String name, Histogram histogram, long errors) {
+    }
+}
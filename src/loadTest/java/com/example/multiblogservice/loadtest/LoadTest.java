@@ -0,0 +1,326 @@
+package com.example.multiblogservice.loadtest;
+
+import com.example.multiblogservice.MultiBlogServiceApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the service (H2 by default, or the local Postgres profile), seeds blogs and posts through
+ * the API and drives a mixed read/write workload from closed-loop virtual-thread clients.
+ * Per-endpoint HdrHistogram distributions and a JSON summary are written to the output directory.
+ *
+ * <p>Run with {@code ./gradlew loadTest}; every setting is a {@code -Dloadtest.*} system property,
+ * see {@link Settings}. Setting {@code loadtest.base-url} targets an already running instance instead.
+ */
+public final class LoadTest {
+
+    private static final String API = "/api/v1/blogs";
+
+    private final Settings settings;
+
+    private final HttpClient http;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Endpoint, EndpointMetrics> metrics = new EnumMap<>(Endpoint.class);
+
+    private String baseUrl;
+
+    private long[] blogIds;
+
+    private long[][] postIds;
+
+    private LoadTest(Settings settings) {
+        this.settings = settings;
+        this.http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Endpoint endpoint : Endpoint.values()) {
+            metrics.put(endpoint, new EndpointMetrics(endpoint.label));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        ConfigurableApplicationContext context = settings.baseUrl() == null ? boot(settings) : null;
+        try {
+            LoadTest loadTest = new LoadTest(settings);
+            loadTest.baseUrl = context == null
+                    ? settings.baseUrl()
+                    : "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port");
+            loadTest.run();
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext boot(Settings settings) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads()));
+        if ("postgres".equals(settings.target())) {
+            args.add("--spring.profiles.active=local");
+        } else {
+            args.add("--spring.profiles.active=loadtest");
+            args.add("--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+            args.add("--spring.datasource.username=sa");
+        }
+        return new SpringApplicationBuilder(MultiBlogServiceApplication.class).run(args.toArray(String[]::new));
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Seeding %d blogs x %d posts against %s%n", settings.blogs(), settings.postsPerBlog(), baseUrl);
+        seed();
+
+        System.out.printf("Warming up for %s with %d clients%n", settings.warmup(), settings.clients());
+        drive(settings.warmup());
+        metrics.values().forEach(EndpointMetrics::reset);
+
+        System.out.printf("Measuring for %s%n", settings.duration());
+        long start = System.nanoTime();
+        drive(settings.duration());
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        report(elapsedSeconds);
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        String content = "x".repeat(settings.contentBytes());
+        blogIds = new long[settings.blogs()];
+        postIds = new long[settings.blogs()][];
+        for (int b = 0; b < settings.blogs(); b++) {
+            JsonNode blog = send(HttpRequest.newBuilder(uri(API))
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("name", "loadtest-" + runId + "-" + b, "description", "Load test blog " + b))));
+            blogIds[b] = blog.get("id").asLong();
+
+            StringBuilder ndjson = new StringBuilder();
+            for (int p = 0; p < settings.postsPerBlog(); p++) {
+                ndjson.append(objectMapper.writeValueAsString(Map.of("title", "Post " + p, "content", content))).append('\n');
+            }
+            send(HttpRequest.newBuilder(uri(API + "/" + blogIds[b] + "/posts/bulk"))
+                    .header("Content-Type", "application/x-ndjson")
+                    .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString())));
+            postIds[b] = listPostIds(blogIds[b]);
+        }
+    }
+
+    private long[] listPostIds(long blogId) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String query = "?limit=100" + (cursor == null ? "" : "&cursor=" + cursor);
+            JsonNode page = send(HttpRequest.newBuilder(uri(API + "/" + blogId + "/posts" + query)).GET());
+            page.get("posts").forEach(post -> ids.add(post.get("id").asLong()));
+            cursor = page.hasNonNull("next") ? page.get("next").asText() : null;
+        } while (cursor != null);
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private void drive(Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.clients(); i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        execute(ThreadLocalRandom.current());
+                    }
+                });
+            }
+        }
+    }
+
+    private void execute(ThreadLocalRandom random) {
+        int b = random.nextInt(blogIds.length);
+        long blogId = blogIds[b];
+        long[] posts = postIds[b];
+        long postId = posts.length == 0 ? 0 : posts[random.nextInt(posts.length)];
+        Endpoint endpoint = Endpoint.pick(random, settings.writeRatio(), posts.length > 0);
+
+        HttpRequest.Builder request = switch (endpoint) {
+            case LIST_BLOGS -> HttpRequest.newBuilder(uri(API)).GET();
+            case GET_BLOG -> HttpRequest.newBuilder(uri(API + "/" + blogId)).GET();
+            case LIST_POSTS -> HttpRequest.newBuilder(uri(API + "/" + blogId + "/posts?limit=20")).GET();
+            case GET_POST -> HttpRequest.newBuilder(uri(API + "/" + blogId + "/posts/" + postId)).GET();
+            case CREATE_POST -> HttpRequest.newBuilder(uri(API + "/" + blogId + "/posts"))
+                    .header("Content-Type", "application/json")
+                    .POST(json(Map.of("title", "Load " + random.nextInt(), "content", "y".repeat(settings.contentBytes()))));
+            case UPDATE_POST -> HttpRequest.newBuilder(uri(API + "/" + blogId + "/posts/" + postId))
+                    .header("Content-Type", "application/json")
+                    .PUT(json(Map.of("title", "Updated " + random.nextInt(), "content", "z".repeat(settings.contentBytes()))));
+        };
+
+        EndpointMetrics endpointMetrics = metrics.get(endpoint);
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(request.timeout(Duration.ofSeconds(30)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                endpointMetrics.recordSuccess(System.nanoTime() - start);
+            } else {
+                endpointMetrics.recordError();
+            }
+        } catch (IOException e) {
+            endpointMetrics.recordError();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(double elapsedSeconds) throws IOException {
+        Path outputDir = Path.of(settings.outputDir());
+        Files.createDirectories(outputDir);
+
+        List<LoadTestSummary.Endpoint> endpoints = new ArrayList<>();
+        long totalRequests = 0;
+        System.out.printf("%n%-36s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (EndpointMetrics endpointMetrics : metrics.values()) {
+            EndpointMetrics.Snapshot snapshot = endpointMetrics.snapshot();
+            Histogram histogram = snapshot.histogram();
+            long requests = histogram.getTotalCount();
+            totalRequests += requests;
+            LoadTestSummary.Endpoint summary = new LoadTestSummary.Endpoint(snapshot.name(), requests, snapshot.errors(),
+                    requests / elapsedSeconds,
+                    millis(histogram, 50), millis(histogram, 95), millis(histogram, 99), histogram.getMaxValue() / 1000.0);
+            endpoints.add(summary);
+            System.out.printf("%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", summary.name(), summary.requests(),
+                    summary.errors(), summary.throughput(), summary.p50(), summary.p95(), summary.p99(), summary.max());
+
+            Path hgrm = outputDir.resolve(snapshot.name().replaceAll("[^A-Za-z0-9]+", "_").toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+
+        LoadTestSummary summary = new LoadTestSummary(settings.target(), settings.clients(), elapsedSeconds,
+                settings.blogs(), settings.postsPerBlog(), settings.writeRatio(), totalRequests / elapsedSeconds, endpoints);
+        Path summaryFile = outputDir.resolve("summary.json");
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(summaryFile.toFile(), summary);
+        System.out.printf("%nTotal %.1f req/s. Histograms (.hgrm, in ms) and %s written to %s%n",
+                summary.totalThroughput(), summaryFile.getFileName(), outputDir.toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private JsonNode send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private enum Endpoint {
+        LIST_BLOGS("GET /api/v1/blogs", 15),
+        GET_BLOG("GET /api/v1/blogs/{id}", 15),
+        LIST_POSTS("GET /api/v1/blogs/{id}/posts", 40),
+        GET_POST("GET /api/v1/blogs/{id}/posts/{id}", 30),
+        CREATE_POST("POST /api/v1/blogs/{id}/posts", 50),
+        UPDATE_POST("PUT /api/v1/blogs/{id}/posts/{id}", 50);
+
+        private final String label;
+
+        // Relative weight within reads or within writes.
+        private final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+
+        static Endpoint pick(ThreadLocalRandom random, double writeRatio, boolean hasPosts) {
+            if (random.nextDouble() < writeRatio) {
+                return !hasPosts || random.nextInt(CREATE_POST.weight + UPDATE_POST.weight) < CREATE_POST.weight
+                        ? CREATE_POST : UPDATE_POST;
+            }
+            int roll = random.nextInt(LIST_BLOGS.weight + GET_BLOG.weight + LIST_POSTS.weight + GET_POST.weight);
+            for (Endpoint endpoint : List.of(LIST_BLOGS, GET_BLOG, LIST_POSTS)) {
+                if (roll < endpoint.weight) {
+                    return endpoint;
+                }
+                roll -= endpoint.weight;
+            }
+            return hasPosts ? GET_POST : LIST_POSTS;
+        }
+    }
+
+    /**
+     * @param target         {@code h2} (in-memory, default) or {@code postgres} (the local profile)
+     * @param baseUrl        an already running instance to test instead of booting one
+     * @param virtualThreads boot the service with {@code spring.threads.virtual.enabled}
+     */
+    record Settings(String target,
+                    String baseUrl,
+                    boolean virtualThreads,
+                    int blogs,
+                    int postsPerBlog,
+                    int contentBytes,
+                    int clients,
+                    double writeRatio,
+                    Duration warmup,
+                    Duration duration,
+                    String outputDir) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    System.getProperty("loadtest.target", "h2"),
+                    System.getProperty("loadtest.base-url"),
+                    Boolean.getBoolean("loadtest.virtual-threads"),
+                    Integer.getInteger("loadtest.blogs", 20),
+                    Integer.getInteger("loadtest.posts-per-blog", 50),
+                    Integer.getInteger("loadtest.content-bytes", 2048),
+                    Integer.getInteger("loadtest.clients", 200),
+                    Double.parseDouble(System.getProperty("loadtest.write-ratio", "0.1")),
+                    Duration.parse(System.getProperty("loadtest.warmup", "PT10S")),
+                    Duration.parse(System.getProperty("loadtest.duration", "PT30S")),
+                    System.getProperty("loadtest.output-dir", "build/load-test"));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.multiblogservice.loadtest;
+
+import java.util.List;
+
+/**
+ * The machine-readable result of a run, written as JSON so that two runs can be diffed.
+ * Latencies are in milliseconds.
+ */
+record LoadTestSummary(String target,
+                       int clients,
+                       double durationSeconds,
+                       int blogs,
+                       int postsPerBlog,
+                       double writeRatio,
+                       double totalThroughput,
+                       List<Endpoint> endpoints) {
+
+    record Endpoint(String name,
+                    long requests,
+                    long errors,
+                    double throughput,
+                    double p50,
+                    double p95,
+                    double p99,
+                    double max) {
+    }
+}
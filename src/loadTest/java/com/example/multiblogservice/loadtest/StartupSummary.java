@@ -0,0 +1,12 @@
+package com.example.multiblogservice.loadtest;
+
+import java.util.List;
+
+/**
+ * Time from process start to the first successful request, per launch mode, in milliseconds.
+ */
+record StartupSummary(List<String> jvmArgs, List<Mode> modes) {
+
+    record Mode(String name, int runs, long minMillis, long medianMillis, long maxMillis) {
+    }
+}
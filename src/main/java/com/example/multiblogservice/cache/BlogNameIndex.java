@@ -0,0 +1,168 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.example.multiblogservice.repository.BlogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory map from blog name, and from its slug, to blog id, so front-ends that know a blog by
+ * name can resolve it without a query. Reads see an immutable snapshot through a volatile field and
+ * never lock; the rare writes rebuild the maps under a lock and publish a new snapshot.
+ *
+ * <p>Built before the web server starts accepting requests and kept current from
+ * {@link BlogChangedEvent}s after commit, local or replayed from other nodes.
+ */
+@Component
+public class BlogNameIndex implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BlogNameIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+    private static final Pattern EDGE_HYPHENS = Pattern.compile("^-|-$");
+
+    private final BlogRepository blogRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Object writeLock = new Object();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean running;
+
+    @Autowired
+    public BlogNameIndex(BlogRepository blogRepository, PlatformTransactionManager transactionManager) {
+        this.blogRepository = blogRepository;
+        this.readOnlyTransaction = TransactionBatch.readOnlyAfterCommit(transactionManager);
+    }
+
+    /**
+     * Resolves a blog by its exact name, or else by slug. The exact match covers names without a
+     * slug, such as ones written only in non-Latin scripts, and blogs that lost a contested slug.
+     */
+    public Optional<Long> resolve(String nameOrSlug) {
+        if (nameOrSlug == null) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        Long id = current.idsByName().get(nameOrSlug);
+        return id != null ? Optional.of(id) : Optional.ofNullable(current.idsBySlug().get(slug(nameOrSlug)));
+    }
+
+    public int size() {
+        return snapshot.namesById().size();
+    }
+
+    /**
+     * Lower-case ASCII letters and digits separated by single hyphens; accents are dropped, so
+     * "Notes &amp; Essays" and "notes-essays" name the same blog.
+     */
+    public static String slug(String name) {
+        String ascii = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        String slug = SEPARATORS.matcher(ascii.toLowerCase(Locale.ROOT)).replaceAll("-");
+        return EDGE_HYPHENS.matcher(slug).replaceAll("");
+    }
+
+    void rebuild() {
+        Map<Long, String> names = new HashMap<>();
+        readOnlyTransaction.executeWithoutResult(status ->
+                blogRepository.findAllNames().forEach(blog -> names.put(blog.getId(), blog.getName())));
+        synchronized (writeLock) {
+            snapshot = Snapshot.of(names);
+        }
+        log.info("Blog name index built with {} blogs", names.size());
+    }
+
+    void put(Long blogId, String name) {
+        synchronized (writeLock) {
+            Map<Long, String> names = new HashMap<>(snapshot.namesById());
+            names.put(blogId, name);
+            snapshot = Snapshot.of(names);
+        }
+    }
+
+    void remove(Long blogId) {
+        synchronized (writeLock) {
+            if (snapshot.namesById().containsKey(blogId)) {
+                Map<Long, String> names = new HashMap<>(snapshot.namesById());
+                names.remove(blogId);
+                snapshot = Snapshot.of(names);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            remove(event.blogId());
+            return;
+        }
+        Optional<String> name = readOnlyTransaction.execute(status -> blogRepository.findNameById(event.blogId()));
+        if (name != null && name.isPresent()) {
+            put(event.blogId(), name.get());
+        } else {
+            remove(event.blogId());
+        }
+    }
+
+    @EventListener
+    public void onRemoteChangesMissed(RemoteChangesMissedEvent event) {
+        rebuild();
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Ahead of the web server's lifecycle, so no request can be resolved against an empty index.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private record Snapshot(Map<Long, String> namesById, Map<String, Long> idsByName, Map<String, Long> idsBySlug) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of());
+
+        // Names are unique but their slugs need not be; the oldest blog keeps a contested slug.
+        static Snapshot of(Map<Long, String> names) {
+            Map<String, Long> idsByName = new HashMap<>();
+            Map<String, Long> idsBySlug = new HashMap<>();
+            names.forEach((id, name) -> {
+                idsByName.put(name, id);
+                String slug = slug(name);
+                if (!slug.isEmpty()) {
+                    idsBySlug.merge(slug, id, Math::min);
+                }
+            });
+            return new Snapshot(Map.copyOf(names), Map.copyOf(idsByName), Map.copyOf(idsBySlug));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.example.multiblogservice.event.TransactionBatch;
+import com.zaxxer.hikari.HikariDataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Keeps a dedicated connection in LISTEN mode and replays other nodes' changes as local
+ * application events. The notifications received in one poll are replayed together, so each
+ * {@link TransactionBatch} consumer gets them as one batch. Whenever the connection has to be re-established, notifications
+ * sent in the meantime are lost, so a {@link RemoteChangesMissedEvent} is published
+ * once listening has resumed.
+ */
+@Component
+@ConditionalOnProperty(name = "multiblog.cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationListener implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final DataSource dataSource;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NodeIdentity nodeIdentity;
+    private final String channel;
+    private final Duration keepAlive;
+
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread worker;
+
+    @Autowired
+    public CacheInvalidationListener(DataSource dataSource,
+                                     ApplicationEventPublisher eventPublisher,
+                                     NodeIdentity nodeIdentity,
+                                     @Value("${multiblog.cache.invalidation.channel:multiblog_cache_invalidation}") String channel,
+                                     @Value("${multiblog.cache.invalidation.keep-alive:PT15S}") Duration keepAlive) {
+        this.dataSource = dataSource;
+        this.eventPublisher = eventPublisher;
+        this.nodeIdentity = nodeIdentity;
+        this.channel = channel;
+        this.keepAlive = keepAlive;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "cache-invalidation-listener");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        closeQuietly(connection);
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        Duration backoff = Duration.ofSeconds(1);
+        boolean listenedBefore = false;
+        while (running) {
+            try (Connection listenConnection = openConnection()) {
+                connection = listenConnection;
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (listenedBefore) {
+                    log.info("Re-established LISTEN on {}, discarding possibly stale cached state", channel);
+                    eventPublisher.publishEvent(new RemoteChangesMissedEvent());
+                }
+                listenedBefore = true;
+                backoff = Duration.ofSeconds(1);
+                listen(listenConnection);
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, retrying in {}", backoff, e);
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            } finally {
+                connection = null;
+            }
+        }
+    }
+
+    private void listen(Connection listenConnection) throws SQLException {
+        PGConnection pgConnection = listenConnection.unwrap(PGConnection.class);
+        long lastActivity = System.nanoTime();
+        while (running) {
+            PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT.toMillis());
+            if (notifications != null && notifications.length > 0) {
+                TransactionBatch.replay(() -> {
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification.getParameter());
+                    }
+                });
+                lastActivity = System.nanoTime();
+            } else if (System.nanoTime() - lastActivity > keepAlive.toNanos()) {
+                // A half-open TCP connection never raises an error on its own; a round trip does.
+                try (Statement statement = listenConnection.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                lastActivity = System.nanoTime();
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        List<InvalidationMessage> messages = InvalidationMessage.parse(payload);
+        if (messages.isEmpty()) {
+            log.debug("Ignoring cache invalidation payload {}", payload);
+            return;
+        }
+        if (nodeIdentity.id().equals(messages.get(0).nodeId())) {
+            return;
+        }
+        for (InvalidationMessage message : messages) {
+            message.toEvent().ifPresentOrElse(eventPublisher::publishEvent,
+                    () -> log.debug("Ignoring cache invalidation {}", message));
+        }
+    }
+
+    // Use a connection outside the pool: it is held for the lifetime of the process.
+    private Connection openConnection() throws SQLException {
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            return DriverManager.getConnection(hikari.getJdbcUrl(), hikari.getUsername(), hikari.getPassword());
+        }
+        return dataSource.getConnection();
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // already broken
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.TransactionBatch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends local writes to the other nodes. The changes of a transaction are collected and sent
+ * just before it commits, one NOTIFY per blog (more if a blog's changes outgrow one payload);
+ * Postgres delivers them only if the transaction commits.
+ */
+@Component
+@ConditionalOnProperty(name = "multiblog.cache.invalidation.enabled", havingValue = "true")
+public class CacheInvalidationPublisher {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NodeIdentity nodeIdentity;
+    private final String channel;
+    private final TransactionBatch<InvalidationMessage> changes = TransactionBatch.beforeCommit(this::send);
+
+    @Autowired
+    public CacheInvalidationPublisher(JdbcTemplate jdbcTemplate,
+                                      NodeIdentity nodeIdentity,
+                                      @Value("${multiblog.cache.invalidation.channel:multiblog_cache_invalidation}") String channel) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeIdentity = nodeIdentity;
+        this.channel = channel;
+    }
+
+    @EventListener
+    public void onBlogChanged(BlogChangedEvent event) {
+        changes.add(InvalidationMessage.of(nodeIdentity.id(), event));
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        changes.add(InvalidationMessage.of(nodeIdentity.id(), event));
+    }
+
+    private void send(List<InvalidationMessage> messages) {
+        for (String payload : InvalidationMessage.toPayloads(messages)) {
+            jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", channel, payload);
+        }
+    }
+}
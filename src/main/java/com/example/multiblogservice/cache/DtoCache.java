@@ -0,0 +1,140 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for blog and post DTOs, bounded by an estimate of retained heap.
+ * Entries are dropped once the surrounding write transaction has committed, so a reader
+ * can never repopulate the cache with the pre-commit state.
+ */
+@Component
+public class DtoCache implements MeterBinder {
+
+    private static final long MB = 1024L * 1024L;
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+    private final Cache<Long, BlogDTO> blogs;
+    private final Cache<Long, PostDTO> posts;
+
+    @Autowired
+    public DtoCache(@Value("${multiblog.cache.blogs.max-weight-mb:32}") long blogsMaxWeightMb,
+                    @Value("${multiblog.cache.posts.max-weight-mb:64}") long postsMaxWeightMb,
+                    @Value("${multiblog.cache.expire-after-write:PT10M}") Duration expireAfterWrite) {
+        this.blogs = Caffeine.newBuilder()
+                .maximumWeight(blogsMaxWeightMb * MB)
+                .weigher((Long id, BlogDTO blog) -> weigh(blog))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.posts = Caffeine.newBuilder()
+                .maximumWeight(postsMaxWeightMb * MB)
+                .weigher((Long id, PostDTO post) -> weigh(post))
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<BlogDTO> getBlog(Long id, Supplier<Optional<BlogDTO>> loader) {
+        return Optional.ofNullable(blogs.get(id, key -> loader.get().orElse(null)));
+    }
+
+    public Optional<PostDTO> getPost(Long id, Supplier<Optional<PostDTO>> loader) {
+        return Optional.ofNullable(posts.get(id, key -> loader.get().orElse(null)));
+    }
+
+    public Optional<BlogDTO> peekBlog(Long id) {
+        return Optional.ofNullable(blogs.getIfPresent(id));
+    }
+
+    public Optional<PostDTO> peekPost(Long id) {
+        return Optional.ofNullable(posts.getIfPresent(id));
+    }
+
+    public void evictBlog(Long blogId) {
+        blogs.invalidate(blogId);
+    }
+
+    public void evictPost(Long postId) {
+        posts.invalidate(postId);
+    }
+
+    public void evictPostsOfBlog(Long blogId) {
+        posts.asMap().values().removeIf(post -> Objects.equals(post.getBlogId(), blogId));
+    }
+
+    public void invalidateAll() {
+        blogs.invalidateAll();
+        posts.invalidateAll();
+    }
+
+    void cleanUp() {
+        blogs.cleanUp();
+        posts.cleanUp();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        evictPost(event.postId());
+        // BlogDTO embeds its posts, so any post change makes the owning blog entry stale too.
+        evictBlog(event.blogId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        evictBlog(event.blogId());
+        if (event.type() == ChangeType.DELETED) {
+            evictPostsOfBlog(event.blogId());
+        }
+    }
+
+    @EventListener
+    public void onRemoteChangesMissed(RemoteChangesMissedEvent event) {
+        invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, blogs, "blogs");
+        CaffeineCacheMetrics.monitor(registry, posts, "posts");
+    }
+
+    private static int weigh(BlogDTO blog) {
+        long weight = ENTRY_OVERHEAD_BYTES + chars(blog.getName()) + chars(blog.getDescription());
+        if (blog.getPosts() != null) {
+            for (PostDTO post : blog.getPosts()) {
+                weight += weigh(post);
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int weigh(PostDTO post) {
+        long weight = ENTRY_OVERHEAD_BYTES + chars(post.getTitle()) + chars(post.getContent());
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    // Latin-1 strings are compacted to one byte per char; assume UTF-16 to stay on the safe side.
+    private static long chars(String value) {
+        return value == null ? 0 : 2L * value.length();
+    }
+}
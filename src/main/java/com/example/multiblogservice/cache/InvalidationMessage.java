@@ -0,0 +1,108 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * One change as carried in a NOTIFY payload. A transaction's changes are sent as one payload per
+ * blog, {@code nodeId|blogId|kind:type[:postId],...}, split wherever a payload would reach the
+ * 8000-byte limit Postgres puts on it. Single-change payloads of the earlier
+ * {@code nodeId|kind|type|blogId|postId} format are still read.
+ */
+record InvalidationMessage(String nodeId, String kind, ChangeType type, Long blogId, Long postId) {
+
+    static final int MAX_PAYLOAD_BYTES = 7999;
+
+    private static final String BLOG = "blog";
+    private static final String POST = "post";
+
+    static InvalidationMessage of(String nodeId, BlogChangedEvent event) {
+        return new InvalidationMessage(nodeId, BLOG, event.type(), event.blogId(), null);
+    }
+
+    static InvalidationMessage of(String nodeId, PostChangedEvent event) {
+        return new InvalidationMessage(nodeId, POST, event.type(), event.blogId(), event.postId());
+    }
+
+    /**
+     * Encodes the changes of one node, grouped by blog in order of first appearance; within a blog
+     * they keep their order.
+     */
+    static List<String> toPayloads(List<InvalidationMessage> messages) {
+        Map<Long, List<InvalidationMessage>> byBlog = new LinkedHashMap<>();
+        for (InvalidationMessage message : messages) {
+            byBlog.computeIfAbsent(message.blogId(), id -> new ArrayList<>()).add(message);
+        }
+        List<String> payloads = new ArrayList<>();
+        for (List<InvalidationMessage> blogMessages : byBlog.values()) {
+            InvalidationMessage first = blogMessages.get(0);
+            String header = first.nodeId() + '|' + (first.blogId() == null ? "" : first.blogId()) + '|';
+            int headerBytes = header.getBytes(StandardCharsets.UTF_8).length;
+            // Entries are ASCII, so their length is their size in bytes.
+            StringBuilder entries = new StringBuilder();
+            for (InvalidationMessage message : blogMessages) {
+                String entry = message.toEntry();
+                if (!entries.isEmpty() && headerBytes + entries.length() + 1 + entry.length() > MAX_PAYLOAD_BYTES) {
+                    payloads.add(header + entries);
+                    entries.setLength(0);
+                }
+                if (!entries.isEmpty()) {
+                    entries.append(',');
+                }
+                entries.append(entry);
+            }
+            payloads.add(header + entries);
+        }
+        return payloads;
+    }
+
+    static List<InvalidationMessage> parse(String payload) {
+        String[] parts = payload.split("\\|", -1);
+        try {
+            if (parts.length == 5) {
+                return List.of(new InvalidationMessage(parts[0], parts[1], ChangeType.valueOf(parts[2]),
+                        parseId(parts[3]), parseId(parts[4])));
+            }
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                return List.of();
+            }
+            Long blogId = parseId(parts[1]);
+            List<InvalidationMessage> messages = new ArrayList<>();
+            for (String entry : parts[2].split(",", -1)) {
+                String[] fields = entry.split(":", -1);
+                if (fields.length < 2 || fields.length > 3) {
+                    return List.of();
+                }
+                messages.add(new InvalidationMessage(parts[0], fields[0], ChangeType.valueOf(fields[1]), blogId,
+                        fields.length == 3 ? parseId(fields[2]) : null));
+            }
+            return messages;
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    Optional<Object> toEvent() {
+        return switch (kind) {
+            case BLOG -> Optional.of(new BlogChangedEvent(blogId, type));
+            case POST -> Optional.of(new PostChangedEvent(blogId, postId, type));
+            default -> Optional.empty();
+        };
+    }
+
+    private String toEntry() {
+        return kind + ':' + type + (postId == null ? "" : ":" + postId);
+    }
+
+    private static Long parseId(String value) {
+        return value.isEmpty() ? null : Long.valueOf(value);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.multiblogservice.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Random per-process id, used to recognise (and skip) our own notifications.
+ */
+@Component
+public class NodeIdentity {
+
+    private final String id = UUID.randomUUID().toString().substring(0, 8);
+
+    public String id() {
+        return id;
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.multiblogservice.cache;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized post responses, each stored as identity, gzip and (when the native library loads)
+ * brotli bytes, so a hot post is written without mapping, serializing or compressing it again.
+ * An entry is tagged with the ETag of the version it was built from and only served for that
+ * ETag; changes evict it eagerly as well.
+ */
+@Component
+public class ResponseBodyCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseBodyCache.class);
+
+    private static final long MB = 1024L * 1024L;
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    private final Cache<Long, EncodedBody> posts;
+    private final ObjectMapper objectMapper;
+    private final int minCompressBytes;
+    private final int brotliQuality;
+    private final boolean brotliAvailable;
+
+    @Autowired
+    public ResponseBodyCache(ObjectMapper objectMapper,
+                             @Value("${multiblog.response-cache.max-weight-mb:24}") long maxWeightMb,
+                             @Value("${multiblog.response-cache.expire-after-access:PT10M}") Duration expireAfterAccess,
+                             @Value("${multiblog.response-cache.min-compress-bytes:512}") int minCompressBytes,
+                             @Value("${multiblog.response-cache.brotli-quality:9}") int brotliQuality) {
+        this.objectMapper = objectMapper;
+        this.minCompressBytes = minCompressBytes;
+        this.brotliQuality = brotliQuality;
+        this.brotliAvailable = loadBrotli();
+        this.posts = Caffeine.newBuilder()
+                .maximumWeight(maxWeightMb * MB)
+                .weigher((Long id, EncodedBody body) -> body.weight())
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the encoded body of post {@code id} at version {@code etag}, loading, serializing
+     * and compressing it only if no entry exists for that exact version.
+     */
+    public Optional<EncodedBody> getPost(Long id, String etag, Supplier<Optional<PostDTO>> loader) {
+        EncodedBody cached = posts.getIfPresent(id);
+        if (cached != null && cached.etag().equals(etag)) {
+            return Optional.of(cached);
+        }
+        Optional<EncodedBody> encoded = loader.get().map(post -> encode(etag, post));
+        encoded.ifPresent(body -> posts.put(id, body));
+        return encoded;
+    }
+
+    public void evictPost(Long postId) {
+        posts.invalidate(postId);
+    }
+
+    public void invalidateAll() {
+        posts.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        evictPost(event.postId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            posts.asMap().values().removeIf(body -> Objects.equals(body.blogId(), event.blogId()));
+        }
+    }
+
+    @EventListener
+    public void onRemoteChangesMissed(RemoteChangesMissedEvent event) {
+        invalidateAll();
+    }
+
+    void cleanUp() {
+        posts.cleanUp();
+    }
+
+    boolean isBrotliAvailable() {
+        return brotliAvailable;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, posts, "post-responses");
+    }
+
+    EncodedBody encode(String etag, PostDTO post) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(post);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize post " + post.getId(), e);
+        }
+        return encode(etag, post.getBlogId(), json);
+    }
+
+    /**
+     * Compresses an already rendered text body with the same settings as cached posts; the result
+     * is not stored here.
+     */
+    public EncodedBody encode(String etag, Long blogId, byte[] identity) {
+        if (identity.length < minCompressBytes) {
+            return new EncodedBody(etag, blogId, identity, null, null);
+        }
+        return new EncodedBody(etag, blogId, identity, gzip(identity), brotliAvailable ? brotli(identity) : null);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] brotli(byte[] body) {
+        try {
+            return Encoder.compress(body, new Encoder.Parameters().setQuality(brotliQuality).setMode(Encoder.Mode.TEXT));
+        } catch (IOException e) {
+            log.warn("Brotli compression failed, serving gzip only", e);
+            return null;
+        }
+    }
+
+    private static boolean loadBrotli() {
+        try {
+            Brotli4jLoader.ensureAvailability();
+            return true;
+        } catch (Throwable e) {
+            log.info("Brotli native library not available on this platform, serving gzip only: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * One cached response body in every encoding it was compressed to; {@code gzip} and
+     * {@code brotli} are null for bodies too small to be worth compressing.
+     */
+    public record EncodedBody(String etag, Long blogId, byte[] identity, byte[] gzip, byte[] brotli) {
+
+        /**
+         * Picks the smallest variant the client accepts: br, then gzip, then identity.
+         *
+         * @return the content coding, or null for identity, and the bytes to write
+         */
+        public Variant select(String acceptEncoding) {
+            if (brotli != null && accepts(acceptEncoding, "br")) {
+                return new Variant("br", brotli);
+            }
+            if (gzip != null && accepts(acceptEncoding, "gzip")) {
+                return new Variant("gzip", gzip);
+            }
+            return new Variant(null, identity);
+        }
+
+        public int weight() {
+            long weight = ENTRY_OVERHEAD_BYTES + identity.length
+                    + (gzip != null ? gzip.length : 0) + (brotli != null ? brotli.length : 0);
+            return (int) Math.min(weight, Integer.MAX_VALUE);
+        }
+
+        static boolean accepts(String acceptEncoding, String coding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            boolean wildcard = false;
+            for (String part : acceptEncoding.split(",")) {
+                String[] params = part.trim().split(";");
+                String name = params[0].trim().toLowerCase(Locale.ROOT);
+                boolean refused = false;
+                for (int i = 1; i < params.length; i++) {
+                    String param = params[i].trim();
+                    if (param.startsWith("q=")) {
+                        try {
+                            refused = Double.parseDouble(param.substring(2)) <= 0;
+                        } catch (NumberFormatException e) {
+                            refused = true;
+                        }
+                    }
+                }
+                if (name.equals(coding)) {
+                    return !refused;
+                }
+                if (name.equals("*")) {
+                    wildcard = !refused;
+                }
+            }
+            return wildcard;
+        }
+    }
+
+    public record Variant(String contentEncoding, byte[] bytes) {
+    }
+}
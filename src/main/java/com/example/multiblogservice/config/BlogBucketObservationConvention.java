@@ -0,0 +1,53 @@
+package com.example.multiblogservice.config;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Adds a {@code blog.bucket} tag to {@code http.server.requests}: the blog id the request
+ * addresses, folded into a fixed number of buckets so that cardinality stays bounded.
+ */
+public class BlogBucketObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String BLOG_BUCKET = "blog.bucket";
+
+    private static final String BLOG_PATTERN = "/api/v1/blogs/{id}";
+
+    private static final KeyValue NONE = KeyValue.of(BLOG_BUCKET, "none");
+
+    private final int buckets;
+
+    public BlogBucketObservationConvention(int buckets) {
+        this.buckets = buckets;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(blogBucket(context));
+    }
+
+    private KeyValue blogBucket(ServerRequestObservationContext context) {
+        if (context.getCarrier() == null
+                || !(context.getCarrier().getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)) {
+            return NONE;
+        }
+        // Under /blogs/{blogId}/posts/{id} the "id" is a post; it names the blog only on /blogs/{id} itself.
+        Object blogId = variables.get("blogId");
+        if (blogId == null && BLOG_PATTERN.equals(context.getPathPattern())) {
+            blogId = variables.get("id");
+        }
+        if (blogId == null) {
+            return NONE;
+        }
+        try {
+            return KeyValue.of(BLOG_BUCKET, String.valueOf(Math.floorMod(Long.parseLong(blogId.toString()), buckets)));
+        } catch (NumberFormatException e) {
+            return KeyValue.of(BLOG_BUCKET, "invalid");
+        }
+    }
+}
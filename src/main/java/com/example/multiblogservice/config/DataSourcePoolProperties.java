@@ -0,0 +1,61 @@
+package com.example.multiblogservice.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Pool sizing and pgjdbc statement caching for the application DataSource.
+ */
+@Data
+@ConfigurationProperties(prefix = "multiblog.datasource")
+public class DataSourcePoolProperties {
+
+    private String poolName = "multiblog";
+
+    private int maximumPoolSize = 10;
+
+    /**
+     * Defaults to the maximum pool size, i.e. a fixed-size pool.
+     */
+    private Integer minimumIdle;
+
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    private Duration validationTimeout = Duration.ofSeconds(2);
+
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    private Duration keepaliveTime = Duration.ofMinutes(2);
+
+    /**
+     * How long startup waits for a first connection before failing; negative starts the pool
+     * without connecting, as the CDS training run does.
+     */
+    private Duration initializationFailTimeout = Duration.ofMillis(1);
+
+    /**
+     * Zero disables leak detection.
+     */
+    private Duration leakDetectionThreshold = Duration.ZERO;
+
+    private Statements statements = new Statements();
+
+    @Data
+    public static class Statements {
+
+        /**
+         * Executions of a statement before pgjdbc switches it to a server-side prepared statement.
+         */
+        private int prepareThreshold = 5;
+
+        private int cacheQueries = 256;
+
+        private int cacheSizeMib = 5;
+
+        private boolean reWriteBatchedInserts = true;
+    }
+}
@@ -1,7 +1,9 @@
 package com.example.multiblogservice.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -9,6 +11,7 @@ import org.springframework.context.annotation.Profile;
 import javax.sql.DataSource;
 
 @Configuration
+@EnableConfigurationProperties(DataSourcePoolProperties.class)
 public class DatabaseConfig {
 
     @Value("${DATABASE_URL:#{null}}")
@@ -25,32 +28,40 @@ public class DatabaseConfig {
 
     @Bean
     @Profile("cloud")
-    public DataSource cloudDataSource() {
-        String[] parts = databaseUrl.split("@");
-        String[] credentials = parts[0].split(":");
-        String[] hostParts = parts[1].split("/");
-
-        String username = credentials[1].substring(2); // Remove the '//' at the beginning
-        String password = credentials[2];
-        String host = hostParts[0];
-        String database = hostParts[1].split("\\?")[0];
-
-        String jdbcUrl = String.format("jdbc:postgresql://%s/%s?sslmode=disable", host, database);
-
-        return DataSourceBuilder.create()
-                .url(jdbcUrl)
-                .username(username)
-                .password(password)
-                .build();
+    public DataSource cloudDataSource(DataSourcePoolProperties poolProperties) {
+        DatabaseUrl url = DatabaseUrl.parse(databaseUrl);
+        return pooledDataSource(url.jdbcUrl(), url.username(), url.password(), poolProperties);
     }
 
     @Bean
     @Profile("local")
-    public DataSource localDataSource() {
-        return DataSourceBuilder.create()
-                .url(localDatabaseUrl)
-                .username(localUsername)
-                .password(localPassword)
-                .build();
+    public DataSource localDataSource(DataSourcePoolProperties poolProperties) {
+        return pooledDataSource(localDatabaseUrl, localUsername, localPassword, poolProperties);
+    }
+
+    static HikariDataSource pooledDataSource(String jdbcUrl, String username, String password,
+                                             DataSourcePoolProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setPoolName(properties.getPoolName());
+        config.setMaximumPoolSize(properties.getMaximumPoolSize());
+        config.setMinimumIdle(properties.getMinimumIdle() != null
+                ? properties.getMinimumIdle() : properties.getMaximumPoolSize());
+        config.setConnectionTimeout(properties.getConnectionTimeout().toMillis());
+        config.setValidationTimeout(properties.getValidationTimeout().toMillis());
+        config.setIdleTimeout(properties.getIdleTimeout().toMillis());
+        config.setMaxLifetime(properties.getMaxLifetime().toMillis());
+        config.setKeepaliveTime(properties.getKeepaliveTime().toMillis());
+        config.setLeakDetectionThreshold(properties.getLeakDetectionThreshold().toMillis());
+        config.setInitializationFailTimeout(properties.getInitializationFailTimeout().toMillis());
+
+        DataSourcePoolProperties.Statements statements = properties.getStatements();
+        config.addDataSourceProperty("prepareThreshold", statements.getPrepareThreshold());
+        config.addDataSourceProperty("preparedStatementCacheQueries", statements.getCacheQueries());
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", statements.getCacheSizeMib());
+        config.addDataSourceProperty("reWriteBatchedInserts", statements.isReWriteBatchedInserts());
+        return new HikariDataSource(config);
     }
 }
@@ -0,0 +1,29 @@
+package com.example.multiblogservice.config;
+
+import com.example.multiblogservice.jfr.SerializationTimingConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Request metrics customisation and the JFR-instrumented JSON converter. Service timers come
+ * from {@code @Timed} on the services, repository, Hibernate, pool and JVM metrics from Boot's
+ * auto-configuration.
+ */
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    public BlogBucketObservationConvention blogBucketObservationConvention(
+            @Value("${multiblog.metrics.blog-buckets:16}") int buckets) {
+        return new BlogBucketObservationConvention(buckets);
+    }
+
+    // Replaces Boot's Jackson converter, which backs off when one of this type exists.
+    @Bean
+    public MappingJackson2HttpMessageConverter serializationTimingConverter(ObjectMapper objectMapper) {
+        return new SerializationTimingConverter(objectMapper);
+    }
+}
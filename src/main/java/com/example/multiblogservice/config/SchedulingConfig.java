@@ -0,0 +1,15 @@
+package com.example.multiblogservice.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Background maintenance such as the change log purge. Tests switch it off so that nothing runs
+ * behind their back.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "multiblog.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
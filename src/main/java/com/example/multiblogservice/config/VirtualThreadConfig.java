@@ -0,0 +1,66 @@
+package com.example.multiblogservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Extra wiring for {@code spring.threads.virtual.enabled=true}. Boot itself switches Tomcat
+ * and the application task executor to virtual threads; this adds the JDBC gate and the
+ * pinning diagnostics that mode needs.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor gatedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof GatedDataSource) {
+                    return bean;
+                }
+                int permits = environment.getProperty("multiblog.jdbc.gate.permits", Integer.class, 0);
+                if (permits <= 0) {
+                    // Match the pool so that a permit holder never has to queue inside Hikari.
+                    permits = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+                }
+                Duration acquireTimeout = environment.getProperty("multiblog.jdbc.gate.acquire-timeout",
+                        Duration.class, Duration.ofSeconds(30));
+                return new GatedDataSource(dataSource, permits, acquireTimeout);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder gatedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof GatedDataSource gate) {
+                Gauge.builder("multiblog.jdbc.gate.waiting", gate, GatedDataSource::getWaitingThreads)
+                        .description("Threads parked waiting for a database permit")
+                        .register(registry);
+                Gauge.builder("multiblog.jdbc.gate.available", gate, GatedDataSource::getAvailablePermits)
+                        .description("Database permits currently free")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(Environment environment, MeterRegistry meterRegistry) {
+        Duration threshold = environment.getProperty("multiblog.virtual-threads.pinned-threshold",
+                Duration.class, Duration.ofMillis(20));
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
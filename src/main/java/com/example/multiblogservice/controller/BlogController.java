@@ -1,11 +1,16 @@
 package com.example.multiblogservice.controller;
 
 import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.BlogSummaryDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
 import com.example.multiblogservice.model.Blog;
 import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,24 +19,51 @@ import java.util.List;
 public class BlogController {
 
     private final BlogService blogService;
+    private final PostService postService;
 
     @Autowired
-    public BlogController(BlogService blogService) {
+    public BlogController(BlogService blogService, PostService postService) {
         this.blogService = blogService;
+        this.postService = postService;
     }
 
     @GetMapping
-    public List<BlogDTO> getAllBlogs() {
+    public List<BlogSummaryDTO> getAllBlogs() {
+        return blogService.getAllBlogSummaries();
+    }
+
+    @GetMapping(params = "includePosts=true")
+    public List<BlogDTO> getAllBlogsWithPosts() {
         return blogService.getAllBlogs();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BlogDTO> getBlogById(@PathVariable Long id) {
+    public ResponseEntity<BlogDTO> getBlogById(@PathVariable Long id, WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, blogService.getBlogVersion(id))) {
+            return ConditionalRequests.notModified();
+        }
         return blogService.getBlogById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/by-slug/{slug}")
+    public ResponseEntity<BlogDTO> getBlogBySlug(@PathVariable String slug, WebRequest request) {
+        return getBlogById(resolve(slug), request);
+    }
+
+    @GetMapping("/by-slug/{slug}/posts")
+    public ResponseEntity<PostPageDTO> getPostsBySlug(@PathVariable String slug,
+                                                      @RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = "20") int limit,
+                                                      WebRequest request) {
+        Long blogId = resolve(slug);
+        if (ConditionalRequests.isNotModified(request, postService.getPostsVersion(blogId))) {
+            return ConditionalRequests.notModified();
+        }
+        return ResponseEntity.ok(postService.getPostsPage(blogId, cursor, limit));
+    }
+
     @PostMapping
     public BlogDTO createBlog(@RequestBody Blog blog) {
         return blogService.createBlog(blog);
@@ -49,4 +81,9 @@ public class BlogController {
         blogService.deleteBlog(id);
         return ResponseEntity.noContent().build();
     }
+
+    private Long resolve(String slug) {
+        return blogService.resolveBlogId(slug)
+                .orElseThrow(() -> new ResourceNotFoundException("Blog not found with slug " + slug));
+    }
 }
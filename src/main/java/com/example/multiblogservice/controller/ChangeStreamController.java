@@ -0,0 +1,53 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.stream.ChangeStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+public class ChangeStreamController {
+
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private final ChangeStream changeStream;
+    private final BlogRepository blogRepository;
+
+    @Autowired
+    public ChangeStreamController(ChangeStream changeStream, BlogRepository blogRepository) {
+        this.changeStream = changeStream;
+        this.blogRepository = blogRepository;
+    }
+
+    @GetMapping(value = "/api/v1/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamAllChanges(
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        return stream(changeStream.subscribe(null, lastEventId));
+    }
+
+    @GetMapping(value = "/api/v1/blogs/{blogId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamBlogChanges(
+            @PathVariable Long blogId,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId) {
+        if (!blogRepository.existsById(blogId)) {
+            throw new ResourceNotFoundException("Blog not found with id " + blogId);
+        }
+        return stream(changeStream.subscribe(blogId, lastEventId));
+    }
+
+    // Proxies must neither cache nor buffer the stream.
+    private static ResponseEntity<SseEmitter> stream(SseEmitter emitter) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.ResourceVersion;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    /**
+     * Evaluates If-None-Match / If-Modified-Since against {@code version}. Either way the
+     * validators are written to the response, so a 200 carries them as well.
+     */
+    static boolean isNotModified(WebRequest request, Optional<ResourceVersion> version) {
+        return version.isPresent() && request.checkNotModified(version.get().etag(), version.get().lastModified());
+    }
+
+    static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
+}
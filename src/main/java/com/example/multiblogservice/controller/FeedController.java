@@ -0,0 +1,30 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.FeedPageDTO;
+import com.example.multiblogservice.service.FeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/feed")
+public class FeedController {
+
+    private final FeedService feedService;
+
+    @Autowired
+    public FeedController(FeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping
+    public FeedPageDTO getFeed(@RequestParam(required = false) List<Long> blogIds,
+                               @RequestParam(required = false) String cursor,
+                               @RequestParam(defaultValue = "20") int limit) {
+        return feedService.getFeed(blogIds, cursor, limit);
+    }
+}
@@ -1,16 +1,31 @@
 package com.example.multiblogservice.controller;
 
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.dto.BulkIngestResultDTO;
 import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
 import com.example.multiblogservice.exception.ResourceNotFoundException;
 import com.example.multiblogservice.model.Post;
 import com.example.multiblogservice.repository.BlogRepository;
 import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostExportService;
+import com.example.multiblogservice.service.PostIngestService;
 import com.example.multiblogservice.service.PostService;
+import com.example.multiblogservice.views.PostViewCounter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/blogs/{blogId}/posts")
@@ -19,24 +34,90 @@ public class PostController {
     private final PostService postService;
     private final BlogService blogService;
     private final BlogRepository blogRepository;
+    private final PostIngestService postIngestService;
+    private final PostExportService postExportService;
+    private final ResponseBodyCache responseBodyCache;
+    private final PostViewCounter postViewCounter;
 
     @Autowired
-    public PostController(PostService postService, BlogService blogService, BlogRepository blogRepository) {
+    public PostController(PostService postService, BlogService blogService, BlogRepository blogRepository,
+                          PostIngestService postIngestService, PostExportService postExportService,
+                          ResponseBodyCache responseBodyCache, PostViewCounter postViewCounter) {
         this.postService = postService;
         this.blogService = blogService;
         this.blogRepository = blogRepository;
+        this.postIngestService = postIngestService;
+        this.postExportService = postExportService;
+        this.responseBodyCache = responseBodyCache;
+        this.postViewCounter = postViewCounter;
     }
 
     @GetMapping
-    public List<PostDTO> getAllPostsByBlogId(@PathVariable Long blogId) {
-        return postService.getAllPostsByBlogId(blogId);
+    public ResponseEntity<PostPageDTO> getPostsByBlogId(@PathVariable Long blogId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "20") int limit,
+                                                        WebRequest request) {
+        if (ConditionalRequests.isNotModified(request, postService.getPostsVersion(blogId))) {
+            return ConditionalRequests.notModified();
+        }
+        return ResponseEntity.ok(postService.getPostsPage(blogId, cursor, limit));
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPosts(
+            @PathVariable Long blogId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (!blogRepository.existsById(blogId)) {
+            throw new ResourceNotFoundException("Blog not found with id " + blogId);
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            postExportService.exportPosts(blogId, target);
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"blog-" + blogId + "-posts.ndjson\"")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PostDTO> getPostById(@PathVariable Long id) {
-        return postService.getPostById(id)
-                .map(ResponseEntity::ok)
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id " + id));
+    public ResponseEntity<?> getPostById(@PathVariable Long id, WebRequest request) {
+        Optional<ResourceVersion> version = postService.getPostVersion(id);
+        if (ConditionalRequests.isNotModified(request, version)) {
+            // A revalidated copy is still a view.
+            postViewCounter.record(id);
+            return ConditionalRequests.notModified();
+        }
+        if (version.isEmpty()) {
+            PostDTO post = postService.getPostById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Post not found with id " + id));
+            postViewCounter.record(id);
+            return ResponseEntity.ok(post);
+        }
+        // Hot path: bytes already serialized and compressed for this exact version go out untouched.
+        ResponseBodyCache.Variant body = responseBodyCache
+                .getPost(id, version.get().etag(), () -> postService.getPostById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id " + id))
+                .select(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        postViewCounter.record(id);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(body.bytes().length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.contentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, body.contentEncoding());
+        }
+        return response.body(body.bytes());
     }
 
     @PostMapping
@@ -50,6 +131,11 @@ public class PostController {
                 .orElseThrow(() -> new ResourceNotFoundException("Blog not found with id " + blogId));
     }
 
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson")
+    public BulkIngestResultDTO bulkCreatePosts(@PathVariable Long blogId, InputStream body) throws IOException {
+        return postIngestService.ingest(blogId, body);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<PostDTO> updatePost(@PathVariable Long id, @RequestBody Post postDetails) {
         return postService.updatePost(id, postDetails)
@@ -59,11 +145,7 @@ public class PostController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletePost(@PathVariable Long id) {
-        return postService.getPostById(id)
-                .map(post -> {
-                    postService.deletePost(id);
-                    return ResponseEntity.noContent().<Void>build();
-                })
-                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id " + id));
+        postService.deletePost(id);
+        return ResponseEntity.noContent().build();
     }
 }
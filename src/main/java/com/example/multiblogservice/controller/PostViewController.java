@@ -0,0 +1,43 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.PostViewsDTO;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.views.PostViewCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/blogs/{blogId}")
+public class PostViewController {
+
+    private final PostViewCounter postViewCounter;
+    private final BlogRepository blogRepository;
+
+    @Autowired
+    public PostViewController(PostViewCounter postViewCounter, BlogRepository blogRepository) {
+        this.postViewCounter = postViewCounter;
+        this.blogRepository = blogRepository;
+    }
+
+    @GetMapping("/posts/{postId}/views")
+    public PostViewsDTO getPostViews(@PathVariable Long blogId, @PathVariable Long postId) {
+        return postViewCounter.getViews(blogId, postId)
+                .orElseThrow(() -> new ResourceNotFoundException("Post not found with id " + postId));
+    }
+
+    @GetMapping("/views")
+    public List<PostViewsDTO> getMostViewedPosts(@PathVariable Long blogId,
+                                                 @RequestParam(defaultValue = "10") int limit) {
+        if (!blogRepository.existsById(blogId)) {
+            throw new ResourceNotFoundException("Blog not found with id " + blogId);
+        }
+        return postViewCounter.getMostViewed(blogId, limit);
+    }
+}
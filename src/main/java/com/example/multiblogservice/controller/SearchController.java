@@ -0,0 +1,28 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.SearchResultDTO;
+import com.example.multiblogservice.service.PostSearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/search")
+public class SearchController {
+
+    private final PostSearchService postSearchService;
+
+    @Autowired
+    public SearchController(PostSearchService postSearchService) {
+        this.postSearchService = postSearchService;
+    }
+
+    @GetMapping
+    public SearchResultDTO searchPosts(@RequestParam("q") String query,
+                                       @RequestParam(required = false) Long blogId,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        return postSearchService.search(query, blogId, limit);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.SyncPageDTO;
+import com.example.multiblogservice.service.SyncService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/blogs/{blogId}/changes")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    @Autowired
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    @GetMapping
+    public SyncPageDTO getChanges(@PathVariable Long blogId,
+                                  @RequestParam(defaultValue = "0") long since,
+                                  @RequestParam(defaultValue = "100") int limit) {
+        return syncService.getChanges(blogId, since, limit);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.feed.SyndicationFeeds;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/v1/blogs/{blogId}")
+public class SyndicationController {
+
+    static final MediaType ATOM = MediaType.parseMediaType("application/atom+xml;charset=UTF-8");
+    static final MediaType RSS = MediaType.parseMediaType("application/rss+xml;charset=UTF-8");
+
+    private final SyndicationFeeds syndicationFeeds;
+
+    @Autowired
+    public SyndicationController(SyndicationFeeds syndicationFeeds) {
+        this.syndicationFeeds = syndicationFeeds;
+    }
+
+    @GetMapping("/atom.xml")
+    public ResponseEntity<byte[]> getAtomFeed(@PathVariable Long blogId, WebRequest request) {
+        return write(blogId, syndicationFeeds.getAtom(blogId), ATOM, request);
+    }
+
+    @GetMapping("/rss.xml")
+    public ResponseEntity<byte[]> getRssFeed(@PathVariable Long blogId, WebRequest request) {
+        return write(blogId, syndicationFeeds.getRss(blogId), RSS, request);
+    }
+
+    private ResponseEntity<byte[]> write(Long blogId, Optional<SyndicationFeeds.Document> feed, MediaType type,
+                                         WebRequest request) {
+        SyndicationFeeds.Document document = feed
+                .orElseThrow(() -> new ResourceNotFoundException("Blog not found with id " + blogId));
+        if (ConditionalRequests.isNotModified(request, Optional.of(document.version()))) {
+            return ConditionalRequests.notModified();
+        }
+        ResponseBodyCache.Variant body = document.body().select(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(type)
+                .contentLength(body.bytes().length)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (body.contentEncoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, body.contentEncoding());
+        }
+        return response.body(body.bytes());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.multiblogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class BulkIngestResultDTO {
+    private int received;
+    private int created;
+    private int failed;
+    private List<LineError> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private int line;
+        private String message;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.multiblogservice.dto;
+
+import com.example.multiblogservice.event.ChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEventDTO {
+    private String resource;
+    private ChangeType change;
+    private Long blogId;
+    private Long postId;
+}
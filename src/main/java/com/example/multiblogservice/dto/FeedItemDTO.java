@@ -0,0 +1,18 @@
+package com.example.multiblogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedItemDTO {
+    private Long id;
+    private Long blogId;
+    private String title;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,12 @@
+package com.example.multiblogservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class FeedPageDTO {
+    private List<FeedItemDTO> items;
+    private String next;
+    private int limit;
+}
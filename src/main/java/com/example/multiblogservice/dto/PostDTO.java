@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 @Data
 public class PostDTO {
     private Long id;
+    private Long blogId;
     private String title;
     private String content;
     private LocalDateTime createdAt;
@@ -0,0 +1,13 @@
+package com.example.multiblogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostViewsDTO {
+    private Long postId;
+    private long views;
+}
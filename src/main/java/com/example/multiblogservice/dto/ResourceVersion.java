@@ -0,0 +1,37 @@
+package com.example.multiblogservice.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * HTTP validators for a representation: a strong entity tag and the Last-Modified time
+ * in epoch millis ({@code -1} when unknown).
+ */
+public record ResourceVersion(String etag, long lastModified) {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    public static ResourceVersion of(String kind, Long id, LocalDateTime lastModified, Object... discriminators) {
+        StringBuilder tag = new StringBuilder("\"").append(kind).append(id)
+                .append('-').append(Long.toHexString(micros(lastModified)));
+        for (Object discriminator : discriminators) {
+            tag.append('-').append(discriminator);
+        }
+        tag.append('"');
+        long millis = lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new ResourceVersion(tag.toString(), millis);
+    }
+
+    /**
+     * Like {@link #of}, without Last-Modified: for representations that change when a member is
+     * deleted, which moves no timestamp, so only the tag can tell the difference.
+     */
+    public static ResourceVersion etagOnly(String kind, Long id, LocalDateTime timestamp, Object... discriminators) {
+        return new ResourceVersion(of(kind, id, timestamp, discriminators).etag(), -1);
+    }
+
+    private static long micros(LocalDateTime timestamp) {
+        return timestamp == null ? 0 : ChronoUnit.MICROS.between(EPOCH, timestamp);
+    }
+}
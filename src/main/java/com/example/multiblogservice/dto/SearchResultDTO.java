@@ -0,0 +1,26 @@
+package com.example.multiblogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class SearchResultDTO {
+    private String query;
+    private Long blogId;
+    private int total;
+    private List<Hit> hits = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hit {
+        private Long postId;
+        private Long blogId;
+        private String title;
+        private double score;
+    }
+}
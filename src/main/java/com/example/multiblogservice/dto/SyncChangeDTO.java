@@ -0,0 +1,15 @@
+package com.example.multiblogservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncChangeDTO {
+    private long seq;
+    private String type;
+    private Long postId;
+    private PostDTO post;
+}
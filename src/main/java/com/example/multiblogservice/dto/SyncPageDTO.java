@@ -0,0 +1,14 @@
+package com.example.multiblogservice.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class SyncPageDTO {
+    private Long blogId;
+    private List<SyncChangeDTO> changes;
+    private long next;
+    private boolean hasMore;
+    private boolean resync;
+}
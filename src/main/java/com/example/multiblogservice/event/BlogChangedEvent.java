@@ -0,0 +1,4 @@
+package com.example.multiblogservice.event;
+
+public record BlogChangedEvent(Long blogId, ChangeType type) {
+}
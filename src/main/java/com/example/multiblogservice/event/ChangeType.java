@@ -0,0 +1,7 @@
+package com.example.multiblogservice.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
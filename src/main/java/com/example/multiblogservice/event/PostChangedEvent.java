@@ -0,0 +1,4 @@
+package com.example.multiblogservice.event;
+
+public record PostChangedEvent(Long blogId, Long postId, ChangeType type) {
+}
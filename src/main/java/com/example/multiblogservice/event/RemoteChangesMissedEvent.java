@@ -0,0 +1,9 @@
+package com.example.multiblogservice.event;
+
+/**
+ * Published when this node may have missed change notifications from other nodes,
+ * e.g. after the notification connection dropped. Anything derived from database
+ * state must be treated as stale.
+ */
+public record RemoteChangesMissedEvent() {
+}
@@ -0,0 +1,135 @@
+package com.example.multiblogservice.event;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Collects the events one transaction publishes and hands them to a consumer as a single batch,
+ * in publishing order, so that a bulk write costs one reload instead of one per row. Events of a
+ * rolled-back transaction are dropped. Changes replayed from other nodes are batched the same way
+ * through {@link #replay(Runnable)}.
+ */
+public final class TransactionBatch<E> {
+
+    private static final ThreadLocal<Map<TransactionBatch<?>, List<Object>>> replaying = new ThreadLocal<>();
+
+    private final Consumer<List<E>> consumer;
+    private final boolean beforeCommit;
+
+    private TransactionBatch(Consumer<List<E>> consumer, boolean beforeCommit) {
+        this.consumer = consumer;
+        this.beforeCommit = beforeCommit;
+    }
+
+    /**
+     * Batches are consumed after commit. Events published outside a transaction, such as changes
+     * replayed from other nodes, are consumed at once.
+     */
+    public static <E> TransactionBatch<E> afterCommit(Consumer<List<E>> consumer) {
+        return new TransactionBatch<>(consumer, false);
+    }
+
+    /**
+     * Batches are consumed just before commit, inside the publishing transaction. Events published
+     * outside a transaction have nothing to join and are ignored.
+     */
+    public static <E> TransactionBatch<E> beforeCommit(Consumer<List<E>> consumer) {
+        return new TransactionBatch<>(consumer, true);
+    }
+
+    /**
+     * A new read-only transaction for work done after another transaction committed, whose
+     * resources are still bound to the thread and must not be joined.
+     */
+    public static TransactionTemplate readOnlyAfterCommit(PlatformTransactionManager transactionManager) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction;
+    }
+
+    /**
+     * Runs {@code publishing}, which replays another node's committed changes outside a
+     * transaction, and hands what it published to each after-commit batch as one list when it
+     * returns, as the original transaction did on its own node. Every batch is consumed even if
+     * one of the consumers fails; the first failure is rethrown afterwards.
+     */
+    public static void replay(Runnable publishing) {
+        Map<TransactionBatch<?>, List<Object>> pending = new LinkedHashMap<>();
+        replaying.set(pending);
+        try {
+            publishing.run();
+        } finally {
+            replaying.remove();
+        }
+        RuntimeException failure = null;
+        for (Map.Entry<TransactionBatch<?>, List<Object>> entry : pending.entrySet()) {
+            try {
+                entry.getKey().consume(entry.getValue());
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public void add(E event) {
+        boolean inTransaction = TransactionSynchronizationManager.isSynchronizationActive()
+                && (!beforeCommit || TransactionSynchronizationManager.isActualTransactionActive());
+        if (!inTransaction) {
+            if (!beforeCommit) {
+                Map<TransactionBatch<?>, List<Object>> replay = replaying.get();
+                if (replay != null) {
+                    replay.computeIfAbsent(this, batch -> new ArrayList<>()).add(event);
+                } else {
+                    consumer.accept(List.of(event));
+                }
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<E> pending = (List<E>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            List<E> events = pending;
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    if (beforeCommit) {
+                        consumer.accept(events);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionBatch.this);
+                    if (!beforeCommit && status == STATUS_COMMITTED) {
+                        consumer.accept(events);
+                    }
+                }
+            });
+        }
+        pending.add(event);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void consume(List<Object> events) {
+        consumer.accept((List<E>) events);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.multiblogservice.feed;
+
+import com.example.multiblogservice.dto.FeedItemDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The newest posts across all blogs, newest first, bounded to {@code capacity} entries.
+ *
+ * <p>The buffer always holds a complete prefix of the global feed order: every post newer than
+ * its oldest entry is in it. A page that fits inside the buffer can therefore be answered from
+ * memory for any blog filter; one that runs past the end cannot, unless the buffer holds every
+ * post ({@link #isComplete()}). Thread-safe.
+ */
+public class FeedHead {
+
+    /**
+     * {@code created_at DESC, id DESC}, the order of the feed and of its cursors.
+     */
+    public static final Comparator<FeedItemDTO> NEWEST_FIRST = Comparator
+            .comparing(FeedItemDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(FeedItemDTO::getId, Comparator.reverseOrder());
+
+    private final int capacity;
+    private final TreeSet<FeedItemDTO> entries = new TreeSet<>(NEWEST_FIRST);
+    private final Map<Long, FeedItemDTO> byId = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private boolean complete;
+
+    public FeedHead(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Replaces the contents with {@code newest}, which must be the newest posts in feed order;
+     * fewer than {@code capacity} of them means there are no others.
+     */
+    public void replaceAll(List<FeedItemDTO> newest) {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            byId.clear();
+            for (FeedItemDTO item : newest.subList(0, Math.min(newest.size(), capacity))) {
+                entries.add(item);
+                byId.put(item.getId(), item);
+            }
+            complete = newest.size() < capacity;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts a new post or replaces the stored copy of an existing one. A post older than every
+     * entry of a full buffer lies beyond the prefix and is ignored.
+     */
+    public void offer(FeedItemDTO item) {
+        lock.writeLock().lock();
+        try {
+            FeedItemDTO previous = byId.remove(item.getId());
+            if (previous != null) {
+                entries.remove(previous);
+            } else if (!complete && (entries.isEmpty() || NEWEST_FIRST.compare(item, entries.last()) > 0)) {
+                return;
+            }
+            entries.add(item);
+            byId.put(item.getId(), item);
+            if (entries.size() > capacity) {
+                byId.remove(entries.pollLast().getId());
+                complete = false;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            FeedItemDTO previous = byId.remove(postId);
+            if (previous != null) {
+                entries.remove(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBlog(Long blogId) {
+        lock.writeLock().lock();
+        try {
+            entries.removeIf(item -> {
+                boolean match = blogId.equals(item.getBlogId());
+                if (match) {
+                    byId.remove(item.getId());
+                }
+                return match;
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} entries after {@code after} (exclusive, null for the start) whose blog is
+     * in {@code blogIds} (null for all blogs), or empty if the buffer cannot tell whether older
+     * posts it does not hold would belong on the page.
+     */
+    public Optional<Page> page(Position after, Set<Long> blogIds, int limit) {
+        lock.readLock().lock();
+        try {
+            Collection<FeedItemDTO> candidates = after == null
+                    ? entries
+                    : entries.tailSet(new FeedItemDTO(after.id(), null, null, after.createdAt(), null), false);
+            List<FeedItemDTO> items = new ArrayList<>(limit);
+            for (FeedItemDTO item : candidates) {
+                if (blogIds == null || blogIds.contains(item.getBlogId())) {
+                    if (items.size() == limit) {
+                        return Optional.of(new Page(items, true));
+                    }
+                    items.add(item);
+                }
+            }
+            return complete ? Optional.of(new Page(items, false)) : Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the buffer has shrunk through deletions to the point where refilling it from the
+     * database is worthwhile.
+     */
+    public boolean isDepleted() {
+        lock.readLock().lock();
+        try {
+            return !complete && entries.size() < capacity / 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isComplete() {
+        lock.readLock().lock();
+        try {
+            return complete;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public record Position(LocalDateTime createdAt, Long id) {
+    }
+
+    public record Page(List<FeedItemDTO> items, boolean hasMore) {
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.multiblogservice.feed;
+
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.dto.ResourceVersion;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.example.multiblogservice.event.TransactionBatch;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.repository.PostRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Pre-rendered Atom and RSS documents with the latest posts of each blog, compressed like cached
+ * post responses. A blog's documents are built by its first feed request and from then on
+ * maintained from post and blog changes after commit: changed posts are re-rendered and spliced
+ * into the stored entry list, so polling a feed never queries the database or renders XML.
+ * Every change bumps its blog's generation; a first build that a change overtook is handed to its
+ * caller but not kept, as the change found no feed to update.
+ *
+ * <p>ETags carry a checksum of the document, so every node serves the same validator for the same
+ * content. There is no Last-Modified: deleting a post moves no timestamp, and neither does an older
+ * post backfilling the window, so only the checksum sees every change.
+ */
+@Component
+public class SyndicationFeeds implements MeterBinder {
+
+    private static final long MB = 1024L * 1024L;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final Comparator<SyndicationRenderer.Entry> NEWEST_FIRST = Comparator
+            .comparing(SyndicationRenderer.Entry::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(SyndicationRenderer.Entry::id, Comparator.reverseOrder());
+
+    private final BlogRepository blogRepository;
+    private final PostRepository postRepository;
+    private final ResponseBodyCache responseBodyCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionBatch<PostChangedEvent> changes = TransactionBatch.afterCommit(this::apply);
+    private final SyndicationRenderer renderer;
+    private final Cache<Long, BlogFeed> feeds;
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+    private final int entries;
+
+    @Autowired
+    public SyndicationFeeds(BlogRepository blogRepository,
+                            PostRepository postRepository,
+                            ResponseBodyCache responseBodyCache,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${multiblog.syndication.entries:20}") int entries,
+                            @Value("${multiblog.syndication.summary-length:500}") int summaryLength,
+                            @Value("${multiblog.syndication.base-url:}") String baseUrl,
+                            @Value("${multiblog.syndication.max-weight-mb:16}") long maxWeightMb) {
+        this.blogRepository = blogRepository;
+        this.postRepository = postRepository;
+        this.responseBodyCache = responseBodyCache;
+        this.entries = entries;
+        this.renderer = new SyndicationRenderer(baseUrl, summaryLength);
+        this.readOnlyTransaction = TransactionBatch.readOnlyAfterCommit(transactionManager);
+        this.feeds = Caffeine.newBuilder()
+                .maximumWeight(maxWeightMb * MB)
+                .weigher((Long blogId, BlogFeed feed) -> feed.weight())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Document> getAtom(Long blogId) {
+        return load(blogId).map(BlogFeed::atom);
+    }
+
+    public Optional<Document> getRss(Long blogId) {
+        return load(blogId).map(BlogFeed::rss);
+    }
+
+    private Optional<BlogFeed> load(Long blogId) {
+        long[] builtAt = {-1};
+        BlogFeed feed = feeds.get(blogId, id -> {
+            builtAt[0] = generation(id);
+            return readOnlyTransaction.execute(status -> build(id));
+        });
+        if (feed != null && builtAt[0] >= 0 && builtAt[0] != generation(blogId)) {
+            // A change committed during the build and found no feed to update.
+            feeds.asMap().remove(blogId, feed);
+        }
+        return Optional.ofNullable(feed);
+    }
+
+    private long generation(Long blogId) {
+        return epoch.get() + generations.getOrDefault(blogId, 0L);
+    }
+
+    private void changed(Long blogId) {
+        generations.merge(blogId, 1L, Long::sum);
+    }
+
+    private BlogFeed build(Long blogId) {
+        return blogRepository.findById(blogId)
+                .map(blog -> {
+                    List<Post> latest = postRepository.findLatestByBlogId(blogId, PageRequest.of(0, entries));
+                    return render(SyndicationRenderer.Channel.of(blog),
+                            latest.stream().map(renderer::entry).toList(), latest.size() < entries);
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Splices the changed posts into the stored entries. Only creations and posts already in the
+     * window are loaded; an update to an older post cannot move it into the window.
+     */
+    private BlogFeed update(BlogFeed feed, List<PostChangedEvent> events) {
+        Map<Long, SyndicationRenderer.Entry> byId = new LinkedHashMap<>();
+        feed.entries().forEach(entry -> byId.put(entry.id(), entry));
+        Set<Long> reload = new LinkedHashSet<>();
+        boolean removed = false;
+        for (PostChangedEvent event : events) {
+            if (event.type() == ChangeType.DELETED) {
+                reload.remove(event.postId());
+                removed |= byId.remove(event.postId()) != null;
+            } else if (event.type() == ChangeType.CREATED || byId.containsKey(event.postId())) {
+                reload.add(event.postId());
+            }
+        }
+        if (reload.isEmpty() && !removed) {
+            return feed;
+        }
+        if (reload.size() >= entries) {
+            // A bulk import: reading the window again is cheaper than loading every new post.
+            return build(feed.channel().id());
+        }
+        Set<Long> missing = new HashSet<>(reload);
+        for (Post post : reload.isEmpty() ? List.<Post>of() : postRepository.findAllById(reload)) {
+            if (feed.channel().id().equals(post.getBlog().getId())) {
+                byId.put(post.getId(), renderer.entry(post));
+                missing.remove(post.getId());
+            }
+        }
+        for (Long postId : missing) {
+            removed |= byId.remove(postId) != null;
+        }
+        if (removed && !feed.complete() && byId.size() < entries) {
+            // Older posts outside the window now belong in it.
+            return build(feed.channel().id());
+        }
+        List<SyndicationRenderer.Entry> latest = byId.values().stream().sorted(NEWEST_FIRST).limit(entries).toList();
+        return render(feed.channel(), latest, feed.complete() && byId.size() <= entries);
+    }
+
+    private BlogFeed render(SyndicationRenderer.Channel channel, List<SyndicationRenderer.Entry> latest, boolean complete) {
+        LocalDateTime updated = channel.updatedAt() != null ? channel.updatedAt() : EPOCH;
+        for (SyndicationRenderer.Entry entry : latest) {
+            if (entry.updatedAt() != null && entry.updatedAt().isAfter(updated)) {
+                updated = entry.updatedAt();
+            }
+        }
+        return new BlogFeed(channel, latest, complete,
+                document("a", channel.id(), renderer.atom(channel, latest, updated), updated),
+                document("r", channel.id(), renderer.rss(channel, latest, updated), updated));
+    }
+
+    private Document document(String kind, Long blogId, byte[] xml, LocalDateTime updated) {
+        CRC32 checksum = new CRC32();
+        checksum.update(xml);
+        ResourceVersion version = ResourceVersion.etagOnly(kind, blogId, updated, Long.toHexString(checksum.getValue()));
+        return new Document(version, responseBodyCache.encode(version.etag(), blogId, xml));
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        changes.add(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        changed(event.blogId());
+        if (event.type() == ChangeType.DELETED) {
+            feeds.invalidate(event.blogId());
+            return;
+        }
+        // Feeds not built yet pick up the change when they are.
+        refresh(event.blogId(), feed -> blogRepository.findById(event.blogId())
+                .map(blog -> render(SyndicationRenderer.Channel.of(blog), feed.entries(), feed.complete()))
+                .orElse(null));
+    }
+
+    @EventListener
+    public void onRemoteChangesMissed(RemoteChangesMissedEvent event) {
+        epoch.incrementAndGet();
+        feeds.invalidateAll();
+    }
+
+    private void apply(List<PostChangedEvent> events) {
+        Map<Long, List<PostChangedEvent>> byBlog = new LinkedHashMap<>();
+        for (PostChangedEvent event : events) {
+            byBlog.computeIfAbsent(event.blogId(), blogId -> new ArrayList<>()).add(event);
+        }
+        byBlog.keySet().forEach(this::changed);
+        byBlog.forEach((blogId, changes) -> refresh(blogId, feed -> update(feed, changes)));
+    }
+
+    /**
+     * Replaces a stored feed with one derived from it. The queries and rendering run outside the
+     * cache, so they hold no lock readers of the blog wait on; if the feed was replaced or dropped
+     * meanwhile, the result is discarded and the next request builds the feed afresh.
+     */
+    private void refresh(Long blogId, Function<BlogFeed, BlogFeed> change) {
+        BlogFeed feed = feeds.getIfPresent(blogId);
+        if (feed == null) {
+            return;
+        }
+        BlogFeed updated = readOnlyTransaction.execute(status -> change.apply(feed));
+        if (updated != feed) {
+            feeds.asMap().computeIfPresent(blogId, (id, current) -> current == feed ? updated : null);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, feeds, "blog-feeds");
+    }
+
+    /**
+     * A rendered feed document with its validators.
+     */
+    public record Document(ResourceVersion version, ResponseBodyCache.EncodedBody body) {
+    }
+
+    /**
+     * {@code complete} when {@code entries} holds every post of the blog.
+     */
+    private record BlogFeed(SyndicationRenderer.Channel channel,
+                            List<SyndicationRenderer.Entry> entries,
+                            boolean complete,
+                            Document atom,
+                            Document rss) {
+
+        int weight() {
+            long weight = atom.body().weight() + rss.body().weight();
+            for (SyndicationRenderer.Entry entry : entries) {
+                weight += entry.weight();
+            }
+            return (int) Math.min(weight, Integer.MAX_VALUE);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.multiblogservice.feed;
+
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Renders Atom 1.0 and RSS 2.0 documents for a blog. Each post is rendered once into an entry
+ * fragment per format; a document is the channel header followed by the stored fragments, so a
+ * change to one post re-renders only that post and the header.
+ */
+final class SyndicationRenderer {
+
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+
+    // Characters XML 1.0 cannot carry at all, not even escaped.
+    private static final Pattern INVALID_XML =
+            Pattern.compile("[^\\t\\n\\r\\x{20}-\\x{D7FF}\\x{E000}-\\x{FFFD}\\x{10000}-\\x{10FFFF}]");
+
+    private static final XMLOutputFactory XML = XMLOutputFactory.newFactory();
+
+    private final String baseUrl;
+    private final int summaryLength;
+
+    SyndicationRenderer(String baseUrl, int summaryLength) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.summaryLength = summaryLength;
+    }
+
+    Entry entry(Post post) {
+        String link = baseUrl + "/api/v1/blogs/" + post.getBlog().getId() + "/posts/" + post.getId();
+        String summary = summary(post.getContent());
+        LocalDateTime updatedAt = post.getUpdatedAt() != null ? post.getUpdatedAt() : post.getCreatedAt();
+
+        String atom = fragment(xml -> {
+            xml.writeStartElement("entry");
+            element(xml, "id", "urn:multiblog:post:" + post.getId());
+            element(xml, "title", post.getTitle());
+            xml.writeEmptyElement("link");
+            xml.writeAttribute("href", link);
+            if (post.getCreatedAt() != null) {
+                element(xml, "published", atomDate(post.getCreatedAt()));
+            }
+            element(xml, "updated", atomDate(updatedAt));
+            element(xml, "summary", summary);
+            xml.writeEndElement();
+        });
+        String rss = fragment(xml -> {
+            xml.writeStartElement("item");
+            element(xml, "title", post.getTitle());
+            element(xml, "link", link);
+            xml.writeStartElement("guid");
+            xml.writeAttribute("isPermaLink", "false");
+            xml.writeCharacters("urn:multiblog:post:" + post.getId());
+            xml.writeEndElement();
+            if (post.getCreatedAt() != null) {
+                element(xml, "pubDate", rssDate(post.getCreatedAt()));
+            }
+            element(xml, "description", summary);
+            xml.writeEndElement();
+        });
+        return new Entry(post.getId(), post.getCreatedAt(), updatedAt, atom, rss);
+    }
+
+    byte[] atom(Channel channel, List<Entry> entries, LocalDateTime updated) {
+        String self = baseUrl + "/api/v1/blogs/" + channel.id() + "/atom.xml";
+        String header = fragment(xml -> {
+            element(xml, "id", "urn:multiblog:blog:" + channel.id());
+            element(xml, "title", channel.name());
+            if (channel.description() != null) {
+                element(xml, "subtitle", channel.description());
+            }
+            xml.writeEmptyElement("link");
+            xml.writeAttribute("rel", "self");
+            xml.writeAttribute("href", self);
+            xml.writeEmptyElement("link");
+            xml.writeAttribute("href", baseUrl + "/api/v1/blogs/" + channel.id());
+            element(xml, "updated", atomDate(updated));
+            xml.writeStartElement("author");
+            element(xml, "name", channel.name());
+            xml.writeEndElement();
+        });
+        StringBuilder document = new StringBuilder(header.length() + 64 + entries.size() * 1024)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<feed xmlns=\"").append(ATOM_NAMESPACE).append("\">")
+                .append(header);
+        entries.forEach(entry -> document.append(entry.atom()));
+        return document.append("</feed>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    byte[] rss(Channel channel, List<Entry> entries, LocalDateTime updated) {
+        String header = fragment(xml -> {
+            element(xml, "title", channel.name());
+            element(xml, "link", baseUrl + "/api/v1/blogs/" + channel.id());
+            element(xml, "description", channel.description() != null ? channel.description() : channel.name());
+            element(xml, "lastBuildDate", rssDate(updated));
+        });
+        StringBuilder document = new StringBuilder(header.length() + 96 + entries.size() * 1024)
+                .append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<rss version=\"2.0\"><channel>")
+                .append(header);
+        entries.forEach(entry -> document.append(entry.rss()));
+        return document.append("</channel></rss>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String summary(String content) {
+        if (content == null) {
+            return "";
+        }
+        if (content.length() <= summaryLength) {
+            return content;
+        }
+        int end = summaryLength;
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        return content.substring(0, end) + "...";
+    }
+
+    private static String atomDate(LocalDateTime timestamp) {
+        return DateTimeFormatter.ISO_INSTANT.format(zoned(timestamp).toInstant().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static String rssDate(LocalDateTime timestamp) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(zoned(timestamp));
+    }
+
+    // Timestamps are stored as local date-times in the JVM zone, as in ResourceVersion.
+    private static ZonedDateTime zoned(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault());
+    }
+
+    private static void element(XMLStreamWriter xml, String name, String text) throws XMLStreamException {
+        xml.writeStartElement(name);
+        xml.writeCharacters(INVALID_XML.matcher(text != null ? text : "").replaceAll(""));
+        xml.writeEndElement();
+    }
+
+    private static String fragment(XmlWriting writing) {
+        StringWriter out = new StringWriter(512);
+        try {
+            XMLStreamWriter xml = XML.createXMLStreamWriter(out);
+            writing.write(xml);
+            xml.flush();
+            xml.close();
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Could not render feed", e);
+        }
+        return out.toString();
+    }
+
+    @FunctionalInterface
+    private interface XmlWriting {
+        void write(XMLStreamWriter xml) throws XMLStreamException;
+    }
+
+    /**
+     * The blog fields a document header shows.
+     */
+    record Channel(Long id, String name, String description, LocalDateTime updatedAt) {
+
+        static Channel of(Blog blog) {
+            return new Channel(blog.getId(), blog.getName(), blog.getDescription(), blog.getUpdatedAt());
+        }
+    }
+
+    /**
+     * One post, pre-rendered for both formats.
+     */
+    record Entry(Long id, LocalDateTime createdAt, LocalDateTime updatedAt, String atom, String rss) {
+
+        int weight() {
+            return 2 * (atom.length() + rss.length());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("multiblog.ConnectionAcquire")
+@Label("JDBC Connection Acquire")
+@Category({"Multiblog", "Data"})
+@Description("Time Hibernate waited for a JDBC connection, including any virtual-thread gate and pool wait")
+@StackTrace(false)
+public class ConnectionAcquireEvent extends Event {
+}
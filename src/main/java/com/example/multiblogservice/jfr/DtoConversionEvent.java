@@ -0,0 +1,28 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("multiblog.DtoConversion")
+@Label("DTO Conversion")
+@Category({"Multiblog", "Service"})
+@Description("Mapping of an entity to its response DTO")
+@StackTrace(false)
+public class DtoConversionEvent extends Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Blog Id")
+    public long blogId;
+
+    @Label("Post Id")
+    public long postId;
+
+    @Label("Posts")
+    public int posts;
+}
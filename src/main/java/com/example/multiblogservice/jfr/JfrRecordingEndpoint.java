@@ -0,0 +1,160 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * {@code /actuator/jfr}: POST starts a bounded flight recording written to local disk, using the
+ * JDK default settings plus {@code jfr/multiblog.jfc}; GET lists the recordings kept on disk.
+ * Only one recording runs at a time, and only the newest few files are kept.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrRecordingEndpoint {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Path directory;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private final int retainedFiles;
+    private final Map<String, String> settings;
+
+    private Recording active;
+
+    @Autowired
+    public JfrRecordingEndpoint(@Value("${multiblog.jfr.directory:${java.io.tmpdir}/multiblog-jfr}") Path directory,
+                                @Value("${multiblog.jfr.default-duration:PT60S}") Duration defaultDuration,
+                                @Value("${multiblog.jfr.max-duration:PT5M}") Duration maxDuration,
+                                @Value("${multiblog.jfr.max-size:50MB}") DataSize maxSize,
+                                @Value("${multiblog.jfr.retained-files:5}") int retainedFiles) {
+        this.directory = directory;
+        this.defaultDuration = defaultDuration;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.retainedFiles = retainedFiles;
+        this.settings = loadSettings();
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> recordings() throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("active", active != null ? describe(active) : null);
+        List<Map<String, Object>> files = new ArrayList<>();
+        for (Path file : recordingFiles()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("file", file.toString());
+            entry.put("bytes", Files.size(file));
+            entry.put("lastModified", Files.getLastModifiedTime(file).toInstant());
+            files.add(entry);
+        }
+        body.put("files", files);
+        return body;
+    }
+
+    @WriteOperation
+    public synchronized Map<String, Object> record(@Nullable Duration duration) throws IOException {
+        if (active != null && isRunning(active)) {
+            return describe(active);
+        }
+        Duration bounded = duration == null ? defaultDuration
+                : duration.compareTo(maxDuration) > 0 ? maxDuration : duration;
+        Files.createDirectories(directory);
+        Path destination = directory.resolve("multiblog-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+
+        Recording recording = new Recording(settings);
+        recording.setName(destination.getFileName().toString());
+        recording.setToDisk(true);
+        recording.setDuration(bounded);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setDestination(destination);
+        recording.start();
+        active = recording;
+        pruneOldRecordings();
+        return describe(recording);
+    }
+
+    private static boolean isRunning(Recording recording) {
+        RecordingState state = recording.getState();
+        return state == RecordingState.NEW || state == RecordingState.DELAYED || state == RecordingState.RUNNING;
+    }
+
+    private static Map<String, Object> describe(Recording recording) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", recording.getName());
+        body.put("state", recording.getState());
+        body.put("duration", recording.getDuration());
+        body.put("maxBytes", recording.getMaxSize());
+        body.put("destination", String.valueOf(recording.getDestination()));
+        return body;
+    }
+
+    private List<Path> recordingFiles() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jfr"))
+                    .sorted(Comparator.comparing(this::lastModified).reversed())
+                    .toList();
+        }
+    }
+
+    private void pruneOldRecordings() throws IOException {
+        List<Path> files = new ArrayList<>(recordingFiles());
+        files.remove(active.getDestination());
+        for (int i = Math.max(0, retainedFiles - 1); i < files.size(); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // JDK defaults (low overhead, safe to run in production) overlaid with the application's events.
+    private static Map<String, String> loadSettings() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource("jfr/multiblog.jfc").getInputStream(),
+                StandardCharsets.UTF_8)) {
+            Map<String, String> merged = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            merged.putAll(Configuration.create(reader).getSettings());
+            return merged;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load the JFR settings", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.multiblogservice.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Emits a {@link RequestEvent} per request while a recording has it enabled.
+ */
+@Component
+public class JfrRequestFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        event.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.route = route != null ? route.toString() : null;
+                event.path = request.getRequestURI();
+                event.status = response.getStatus();
+                if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+                    event.blogId = parseId(variables.get(variables.containsKey("blogId") ? "blogId" : "id"));
+                    event.postId = variables.containsKey("blogId") ? parseId(variables.get("id")) : 0;
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private static long parseId(Object value) {
+        try {
+            return value != null ? Long.parseLong(value.toString()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.multiblogservice.jfr;
+
+import com.example.multiblogservice.sql.SqlStatementCounter;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Emits {@link ServiceCallEvent}s and {@link RepositoryQueryEvent}s. When no recording has the
+ * events enabled, the advice only pays for an {@code isEnabled()} check.
+ */
+@Aspect
+@Component
+public class JfrTracingAspect {
+
+    @Around("within(com.example.multiblogservice.service..*) && execution(public * *(..))")
+    public Object serviceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+                event.service = signature.getDeclaringType().getSimpleName();
+                event.method = signature.getName();
+                event.blogId = idArgument(signature, joinPoint.getArgs(), "Blog");
+                event.postId = idArgument(signature, joinPoint.getArgs(), "Post");
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object repositoryQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        Object result = null;
+        event.begin();
+        try (SqlStatementCounter.Stats stats = SqlStatementCounter.start()) {
+            try {
+                result = joinPoint.proceed();
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.repository = repositoryName(joinPoint);
+                    event.method = joinPoint.getSignature().getName();
+                    event.statements = stats.getStatements();
+                    event.rows = rows(result);
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    // "blogId" always names a blog; a bare "id" names whatever the service is about.
+    private static long idArgument(MethodSignature signature, Object[] args, String entity) {
+        String[] names = signature.getParameterNames();
+        boolean ownEntity = signature.getDeclaringType().getSimpleName().startsWith(entity);
+        for (int i = 0; names != null && i < names.length; i++) {
+            boolean matches = names[i].equals(Character.toLowerCase(entity.charAt(0)) + entity.substring(1) + "Id")
+                    || (ownEntity && names[i].equals("id"));
+            if (matches && args[i] instanceof Long id) {
+                return id;
+            }
+        }
+        return 0;
+    }
+
+    private static String repositoryName(ProceedingJoinPoint joinPoint) {
+        for (Class<?> type : joinPoint.getThis().getClass().getInterfaces()) {
+            if (type.getName().startsWith("com.example.multiblogservice")) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("multiblog.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Multiblog", "Data"})
+@Description("A Spring Data repository call and the SQL statements it executed")
+@StackTrace(false)
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("SQL Statements")
+    public int statements;
+
+    @Label("Rows")
+    @Description("Size of the returned collection, 0 or 1 for single results, -1 when unknown")
+    public int rows;
+}
@@ -0,0 +1,34 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("multiblog.Request")
+@Label("HTTP Request")
+@Category({"Multiblog", "Web"})
+@Description("An HTTP request, from the servlet filter chain to the response")
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Route")
+    public String route;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Blog Id")
+    public long blogId;
+
+    @Label("Post Id")
+    public long postId;
+}
@@ -0,0 +1,33 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("multiblog.Serialization")
+@Label("JSON Serialization")
+@Category({"Multiblog", "Web"})
+@Description("Jackson serialization of a response body")
+@StackTrace(false)
+public class SerializationEvent extends Event {
+
+    @Label("Type")
+    public String type;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Blog Id")
+    public long blogId;
+
+    @Label("Post Id")
+    public long postId;
+
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
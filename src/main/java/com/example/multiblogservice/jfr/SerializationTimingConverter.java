@@ -0,0 +1,101 @@
+package com.example.multiblogservice.jfr;
+
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * The Jackson converter, emitting a {@link SerializationEvent} with the body size per response
+ * while a recording has the event enabled.
+ */
+public class SerializationTimingConverter extends MappingJackson2HttpMessageConverter {
+
+    public SerializationTimingConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        SerializationEvent event = new SerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        CountingOutputMessage countingMessage = new CountingOutputMessage(outputMessage);
+        event.begin();
+        try {
+            super.writeInternal(object, type, countingMessage);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                describe(event, object);
+                event.bytes = countingMessage.count;
+                event.commit();
+            }
+        }
+    }
+
+    private static void describe(SerializationEvent event, Object object) {
+        event.type = object.getClass().getSimpleName();
+        if (object instanceof BlogDTO blog) {
+            event.blogId = blog.getId() != null ? blog.getId() : 0;
+            event.items = blog.getPosts() != null ? blog.getPosts().size() : 0;
+        } else if (object instanceof PostDTO post) {
+            event.postId = post.getId() != null ? post.getId() : 0;
+            event.blogId = post.getBlogId() != null ? post.getBlogId() : 0;
+            event.items = 1;
+        } else if (object instanceof PostPageDTO page && page.getPosts() != null) {
+            event.items = page.getPosts().size();
+            if (!page.getPosts().isEmpty() && page.getPosts().get(0).getBlogId() != null) {
+                event.blogId = page.getPosts().get(0).getBlogId();
+            }
+        } else if (object instanceof Collection<?> collection) {
+            event.items = collection.size();
+        }
+    }
+
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private long count;
+
+        CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return new FilterOutputStream(delegate.getBody()) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    count++;
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    count += len;
+                }
+            };
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("multiblog.ServiceCall")
+@Label("Service Call")
+@Category({"Multiblog", "Service"})
+@Description("A public method call on an application service")
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Blog Id")
+    public long blogId;
+
+    @Label("Post Id")
+    public long postId;
+}
@@ -0,0 +1,22 @@
+package com.example.multiblogservice.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("multiblog.WarmUp")
+@Label("Warm-up")
+@Category({"Multiblog", "Lifecycle"})
+@Description("Start-up warm-up; service calls and queries on its thread within it are not traffic")
+@StackTrace(false)
+public class WarmUpEvent extends Event {
+
+    @Label("Outcome")
+    public String outcome;
+
+    @Label("Iterations")
+    public int iterations;
+}
@@ -0,0 +1,42 @@
+package com.example.multiblogservice.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of the sync change log. Rows are written with native statements by
+ * {@code ChangeLogRepository}; {@code postId} is null for a blog tombstone.
+ */
+@Entity
+@Immutable
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_blog_seq", columnList = "blog_id, seq"),
+        @Index(name = "idx_change_log_post", columnList = "post_id")
+})
+@Data
+@NoArgsConstructor
+public class ChangeLogEntry {
+
+    public static final String UPSERT = "UPSERT";
+    public static final String DELETE = "DELETE";
+    public static final String BLOG_DELETE = "BLOG_DELETE";
+
+    @Id
+    private Long seq;
+
+    @Column(name = "blog_id", nullable = false)
+    private Long blogId;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "change_type", nullable = false, length = 16)
+    private String changeType;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -10,7 +10,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_blog_created_id", columnList = "blog_id, created_at, id"),
+        @Index(name = "idx_posts_blog_updated", columnList = "blog_id, updated_at"),
+        @Index(name = "idx_posts_created_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 public class Post {
@@ -1,12 +1,56 @@
 package com.example.multiblogservice.repository;
 
+import com.example.multiblogservice.dto.BlogSummaryDTO;
 import com.example.multiblogservice.model.Blog;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BlogRepository extends JpaRepository<Blog, Long> {
     Optional<Blog> findByName(String name);
+
+    @Query("SELECT b.id AS id, b.name AS name FROM Blog b")
+    List<BlogName> findAllNames();
+
+    @Query("SELECT b.name FROM Blog b WHERE b.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.multiblogservice.dto.BlogSummaryDTO(" +
+            "b.id, b.name, b.description, b.createdAt, b.updatedAt, COUNT(p), MAX(p.createdAt)) " +
+            "FROM Blog b LEFT JOIN b.posts p " +
+            "GROUP BY b.id, b.name, b.description, b.createdAt, b.updatedAt " +
+            "ORDER BY b.id")
+    List<BlogSummaryDTO> findAllSummaries();
+
+    @EntityGraph(attributePaths = "posts")
+    @Query("SELECT b FROM Blog b ORDER BY b.id")
+    List<Blog> findAllWithPosts();
+
+    @EntityGraph(attributePaths = "posts")
+    Optional<Blog> findWithPostsById(Long id);
+
+    @Query("SELECT b.updatedAt AS updatedAt, MAX(p.updatedAt) AS latestPostUpdatedAt, COUNT(p) AS postCount " +
+            "FROM Blog b LEFT JOIN b.posts p WHERE b.id = :id GROUP BY b.id, b.updatedAt")
+    Optional<BlogVersion> findVersionById(@Param("id") Long id);
+
+    interface BlogName {
+        Long getId();
+
+        String getName();
+    }
+
+    interface BlogVersion {
+        LocalDateTime getUpdatedAt();
+
+        LocalDateTime getLatestPostUpdatedAt();
+
+        Long getPostCount();
+    }
 }
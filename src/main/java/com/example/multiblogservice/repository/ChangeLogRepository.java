@@ -0,0 +1,73 @@
+package com.example.multiblogservice.repository;
+
+import com.example.multiblogservice.model.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.blogId = :blogId AND c.seq > :since ORDER BY c.seq")
+    List<ChangeLogEntry> findPage(@Param("blogId") Long blogId, @Param("since") long since, Pageable pageable);
+
+    /**
+     * Locks a blog's log for appending until the transaction ends. Its sequence values are drawn
+     * only while holding it, so they commit in sequence order and a reader of the blog never skips
+     * a late commit. Transactions touching several blogs must lock them in id order.
+     */
+    @Query(value = "SELECT lock_change_log(:blogId)", nativeQuery = true)
+    int lockBlogForAppend(@Param("blogId") Long blogId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO change_log (seq, blog_id, post_id, change_type, changed_at) " +
+            "SELECT nextval('change_log_seq'), p.blog_id, p.id, 'UPSERT', LOCALTIMESTAMP FROM posts p " +
+            "WHERE p.id IN (:postIds)", nativeQuery = true)
+    int insertUpserts(@Param("postIds") Collection<Long> postIds);
+
+    // A post's upsert row carries its blog id, which the deleted post no longer can.
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO change_log (seq, blog_id, post_id, change_type, changed_at) " +
+            "SELECT nextval('change_log_seq'), c.blog_id, c.post_id, 'DELETE', LOCALTIMESTAMP FROM change_log c " +
+            "WHERE c.post_id IN (:postIds) AND c.change_type = 'UPSERT'", nativeQuery = true)
+    int insertTombstones(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM change_log WHERE post_id IN (:postIds) AND seq < " +
+            "(SELECT MAX(l.seq) FROM change_log l WHERE l.post_id = change_log.post_id)", nativeQuery = true)
+    int deleteSuperseded(@Param("postIds") Collection<Long> postIds);
+
+    @Modifying
+    @Query(value = "INSERT INTO change_log (seq, blog_id, post_id, change_type, changed_at) " +
+            "VALUES (nextval('change_log_seq'), :blogId, NULL, 'BLOG_DELETE', LOCALTIMESTAMP)", nativeQuery = true)
+    int insertBlogTombstone(@Param("blogId") Long blogId);
+
+    @Modifying
+    @Query(value = "DELETE FROM change_log WHERE blog_id = :blogId AND change_type <> 'BLOG_DELETE'", nativeQuery = true)
+    int deleteBlogEntries(@Param("blogId") Long blogId);
+
+    @Query("SELECT MAX(c.seq) FROM ChangeLogEntry c WHERE c.changeType <> 'UPSERT' AND c.changedAt < :cutoff")
+    Optional<Long> findLastTombstoneBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "DELETE FROM change_log WHERE change_type <> 'UPSERT' AND seq <= :seq", nativeQuery = true)
+    int deleteTombstonesThrough(@Param("seq") long seq);
+
+    @Query(value = "SELECT purged_through FROM change_log_horizon WHERE id = 1", nativeQuery = true)
+    long findPurgedThrough();
+
+    // Serializes purges across nodes.
+    @Query(value = "SELECT purged_through FROM change_log_horizon WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    long lockHorizon();
+
+    @Modifying
+    @Query(value = "UPDATE change_log_horizon SET purged_through = :seq WHERE id = 1 AND purged_through < :seq",
+            nativeQuery = true)
+    int advancePurgedThrough(@Param("seq") long seq);
+}
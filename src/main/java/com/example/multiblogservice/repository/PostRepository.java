@@ -1,12 +1,91 @@
 package com.example.multiblogservice.repository;
 
+import com.example.multiblogservice.dto.FeedItemDTO;
 import com.example.multiblogservice.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findByBlogId(Long blogId);
+
+    // Forward-only cursor: pgjdbc only honours the fetch size inside a transaction.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p WHERE p.blog.id = :blogId ORDER BY p.createdAt, p.id")
+    Stream<Post> streamByBlogId(@Param("blogId") Long blogId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Post p")
+    Stream<Post> streamAll();
+
+    @Query("SELECT p.updatedAt FROM Post p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("SELECT MAX(p.updatedAt) AS latestUpdatedAt, COUNT(p) AS postCount FROM Post p WHERE p.blog.id = :blogId")
+    PostsVersion findPostsVersionByBlogId(@Param("blogId") Long blogId);
+
+    @Query("SELECT p FROM Post p WHERE p.blog.id = :blogId ORDER BY p.createdAt, p.id")
+    List<Post> findFirstPageByBlogId(@Param("blogId") Long blogId, Pageable pageable);
+
+    // The redundant createdAt >= bound lets Postgres start the index range scan at the cursor.
+    @Query("SELECT p FROM Post p WHERE p.blog.id = :blogId AND p.createdAt >= :createdAt " +
+            "AND (p.createdAt > :createdAt OR p.id > :id) ORDER BY p.createdAt, p.id")
+    List<Post> findPageByBlogIdAfter(@Param("blogId") Long blogId,
+                                     @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
+
+    @Query("SELECT new com.example.multiblogservice.dto.FeedItemDTO(p.id, p.blog.id, p.title, p.createdAt, p.updatedAt) " +
+            "FROM Post p ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedItemDTO> findLatestFeedItems(Pageable pageable);
+
+    @Query("SELECT new com.example.multiblogservice.dto.FeedItemDTO(p.id, p.blog.id, p.title, p.createdAt, p.updatedAt) " +
+            "FROM Post p WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedItemDTO> findFeedItemsBefore(@Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query("SELECT new com.example.multiblogservice.dto.FeedItemDTO(p.id, p.blog.id, p.title, p.createdAt, p.updatedAt) " +
+            "FROM Post p WHERE p.blog.id = :blogId ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedItemDTO> findLatestFeedItemsByBlogId(@Param("blogId") Long blogId, Pageable pageable);
+
+    @Query("SELECT new com.example.multiblogservice.dto.FeedItemDTO(p.id, p.blog.id, p.title, p.createdAt, p.updatedAt) " +
+            "FROM Post p WHERE p.blog.id = :blogId AND p.createdAt <= :createdAt " +
+            "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    List<FeedItemDTO> findFeedItemsByBlogIdBefore(@Param("blogId") Long blogId,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query("SELECT new com.example.multiblogservice.dto.FeedItemDTO(p.id, p.blog.id, p.title, p.createdAt, p.updatedAt) " +
+            "FROM Post p WHERE p.id IN :ids")
+    List<FeedItemDTO> findFeedItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Post p WHERE p.blog.id = :blogId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Post> findLatestByBlogId(@Param("blogId") Long blogId, Pageable pageable);
+
+    interface PostsVersion {
+        LocalDateTime getLatestUpdatedAt();
+
+        Long getPostCount();
+    }
 }
@@ -0,0 +1,380 @@
+package com.example.multiblogservice.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over post titles and contents, ranked with BM25.
+ *
+ * <p>Each post is a document with a dense int id; postings are parallel {@code int[]} arrays of
+ * document ids and term frequencies, appended in id order. An update tombstones the old document
+ * and appends a new one, and the postings are compacted once tombstones make up a quarter of
+ * the documents. Title terms count {@value #TITLE_WEIGHT} times, a simple field boost.
+ * Reads share a read lock; writes are serialised by the write lock.
+ */
+public class PostSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final int MIN_COMPACTION_TOMBSTONES = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByPostId = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private long[] postIds = new long[1024];
+    private long[] blogIds = new long[1024];
+    private int[] lengths = new int[1024];
+    private String[] titles = new String[1024];
+
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+
+    public void upsert(long postId, long blogId, String title, String content) {
+        Map<String, Integer> terms = new HashMap<>();
+        int length = addTerms(terms, title, TITLE_WEIGHT) + addTerms(terms, content, 1);
+
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            postIds[doc] = postId;
+            blogIds[doc] = blogId;
+            lengths[doc] = length;
+            titles[doc] = title;
+            docByPostId.put(postId, doc);
+            for (Map.Entry<String, Integer> term : terms.entrySet()) {
+                postings.computeIfAbsent(term.getKey(), t -> new Postings()).add(doc, term.getValue());
+            }
+            liveCount++;
+            totalLength += length;
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBlog(long blogId) {
+        lock.writeLock().lock();
+        try {
+            for (int doc = 0; doc < docCount; doc++) {
+                if (!deleted.get(doc) && blogIds[doc] == blogId) {
+                    removeDocument(postIds[doc]);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docByPostId.clear();
+            deleted.clear();
+            Arrays.fill(titles, 0, docCount, null);
+            docCount = 0;
+            liveCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the posts matching any query term, optionally restricted to one blog.
+     */
+    public Result search(String query, Long blogId, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || liveCount == 0) {
+                return new Result(0, List.of());
+            }
+            List<Postings> lists = new ArrayList<>(terms.size());
+            int matches = 0;
+            for (String term : terms) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    lists.add(list);
+                    matches += list.size;
+                }
+            }
+            Scores scores = new Scores(Math.min(matches, liveCount));
+            double averageLength = (double) totalLength / liveCount;
+            for (Postings list : lists) {
+                // Document frequency counts tombstones until the next compaction; close enough for ranking.
+                int df = Math.min(list.size, liveCount);
+                double idf = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (deleted.get(doc) || (blogId != null && blogIds[doc] != blogId)) {
+                        continue;
+                    }
+                    int tf = list.freqs[i];
+                    double norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                    scores.add(doc, (float) (idf * tf * (K1 + 1) / (tf + norm)));
+                }
+            }
+            return new Result(scores.size, topHits(scores, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Hit> topHits(Scores scores, int limit) {
+        // Min-heap of score slots; on ties the newer document (higher id) ranks first.
+        PriorityQueue<Integer> heap = new PriorityQueue<>(Math.max(1, limit), (a, b) -> {
+            int byScore = Float.compare(scores.values[a], scores.values[b]);
+            return byScore != 0 ? byScore : Integer.compare(scores.docs[a], scores.docs[b]);
+        });
+        for (int slot = 0; slot < scores.docs.length; slot++) {
+            if (scores.docs[slot] < 0) {
+                continue;
+            }
+            heap.offer(slot);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        Hit[] hits = new Hit[heap.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int slot = heap.poll();
+            int doc = scores.docs[slot];
+            hits[i] = new Hit(postIds[doc], blogIds[doc], titles[doc], scores.values[slot]);
+        }
+        return List.of(hits);
+    }
+
+    private void removeDocument(long postId) {
+        Integer doc = docByPostId.remove(postId);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        titles[doc] = null;
+        liveCount--;
+        totalLength -= lengths[doc];
+    }
+
+    private void compactIfNeeded() {
+        int tombstones = docCount - liveCount;
+        if (tombstones < MIN_COMPACTION_TOMBSTONES || tombstones * 4 < docCount) {
+            return;
+        }
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            postIds[next] = postIds[doc];
+            blogIds[next] = blogIds[doc];
+            lengths[next] = lengths[doc];
+            titles[next] = titles[doc];
+            docByPostId.put(postIds[next], next);
+            next++;
+        }
+        Arrays.fill(titles, next, docCount, null);
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+        deleted.clear();
+        docCount = next;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= postIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, postIds.length + (postIds.length >> 1));
+        postIds = Arrays.copyOf(postIds, newLength);
+        blogIds = Arrays.copyOf(blogIds, newLength);
+        lengths = Arrays.copyOf(lengths, newLength);
+        titles = Arrays.copyOf(titles, newLength);
+    }
+
+    private static int addTerms(Map<String, Integer> terms, String text, int weight) {
+        int length = 0;
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Integer::sum);
+            length += weight;
+        }
+        return length;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits; anything longer than {@value #MAX_TOKEN_LENGTH}
+     * characters is dropped as noise (hashes, base64, URLs without separators).
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i < text.length(); ) {
+            int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isLetterOrDigit(codePoint)) {
+                token.appendCodePoint(Character.toLowerCase(codePoint));
+                continue;
+            }
+            flush(token, tokens);
+        }
+        flush(token, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder token, List<String> tokens) {
+        if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH) {
+            tokens.add(token.toString());
+        }
+        token.setLength(0);
+    }
+
+    public record Hit(long postId, long blogId, String title, float score) {
+    }
+
+    /**
+     * @param total number of matching posts, of which {@code hits} are the best ranked
+     */
+    public record Result(int total, List<Hit> hits) {
+    }
+
+    /**
+     * Scores of the documents one search matched, in an open-addressing table of document ids, so
+     * a search allocates for its matches rather than for every document in the index.
+     */
+    private static final class Scores {
+
+        private static final int EMPTY = -1;
+
+        private int[] docs;
+        private float[] values;
+        private int size;
+
+        Scores(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(8, expected) * 2 - 1) << 1;
+            docs = new int[capacity];
+            values = new float[capacity];
+            Arrays.fill(docs, EMPTY);
+        }
+
+        void add(int doc, float score) {
+            int slot = slot(doc);
+            if (docs[slot] == EMPTY) {
+                if ((size + 1) * 2 > docs.length) {
+                    grow();
+                    slot = slot(doc);
+                }
+                docs[slot] = doc;
+                size++;
+            }
+            values[slot] += score;
+        }
+
+        private int slot(int doc) {
+            int mask = docs.length - 1;
+            int hash = doc * 0x9E3779B9;
+            int slot = (hash ^ hash >>> 16) & mask;
+            while (docs[slot] != EMPTY && docs[slot] != doc) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldDocs = docs;
+            float[] oldValues = values;
+            docs = new int[oldDocs.length * 2];
+            values = new float[oldDocs.length * 2];
+            Arrays.fill(docs, EMPTY);
+            for (int i = 0; i < oldDocs.length; i++) {
+                if (oldDocs[i] != EMPTY) {
+                    int slot = slot(oldDocs[i]);
+                    docs[slot] = oldDocs[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] freqs = new int[4];
+        private int size;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size < docs.length / 4) {
+                docs = Arrays.copyOf(docs, Math.max(4, size));
+                freqs = Arrays.copyOf(freqs, Math.max(4, size));
+            }
+        }
+    }
+}
@@ -1,74 +1,111 @@
 package com.example.multiblogservice.service;
 
+import com.example.multiblogservice.cache.BlogNameIndex;
+import com.example.multiblogservice.cache.DtoCache;
 import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.BlogSummaryDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
 import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
 import com.example.multiblogservice.model.Blog;
-import com.example.multiblogservice.model.Post;
 import com.example.multiblogservice.repository.BlogRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "multiblog.service", histogram = true)
 public class BlogService {
 
     private final BlogRepository blogRepository;
+    private final DtoCache dtoCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlogNameIndex blogNameIndex;
 
     @Autowired
-    public BlogService(BlogRepository blogRepository) {
+    public BlogService(BlogRepository blogRepository, DtoCache dtoCache, ApplicationEventPublisher eventPublisher,
+                       BlogNameIndex blogNameIndex) {
         this.blogRepository = blogRepository;
+        this.dtoCache = dtoCache;
+        this.eventPublisher = eventPublisher;
+        this.blogNameIndex = blogNameIndex;
+    }
+
+    public List<BlogSummaryDTO> getAllBlogSummaries() {
+        return blogRepository.findAllSummaries();
     }
 
     public List<BlogDTO> getAllBlogs() {
-        return blogRepository.findAll().stream()
-                .map(this::convertToDTO)
+        return blogRepository.findAllWithPosts().stream()
+                .map(DtoMapper::toBlogDTO)
                 .collect(Collectors.toList());
     }
 
     public Optional<BlogDTO> getBlogById(Long id) {
-        return blogRepository.findById(id).map(this::convertToDTO);
+        return dtoCache.getBlog(id, () -> blogRepository.findWithPostsById(id).map(DtoMapper::toBlogDTO));
+    }
+
+    // Answered from memory; the index follows blog changes after they commit.
+    public Optional<Long> resolveBlogId(String nameOrSlug) {
+        return blogNameIndex.resolve(nameOrSlug);
     }
 
+    public Optional<ResourceVersion> getBlogVersion(Long id) {
+        Optional<BlogDTO> cached = dtoCache.peekBlog(id);
+        if (cached.isPresent()) {
+            BlogDTO blog = cached.get();
+            LocalDateTime latestPostUpdatedAt = blog.getPosts().stream()
+                    .map(PostDTO::getUpdatedAt)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.naturalOrder())
+                    .orElse(null);
+            return Optional.of(version(id, blog.getUpdatedAt(), latestPostUpdatedAt, blog.getPosts().size()));
+        }
+        return blogRepository.findVersionById(id)
+                .map(v -> version(id, v.getUpdatedAt(), v.getLatestPostUpdatedAt(), v.getPostCount()));
+    }
+
+    @Transactional
     public BlogDTO createBlog(Blog blog) {
-        return convertToDTO(blogRepository.save(blog));
+        Blog saved = blogRepository.save(blog);
+        eventPublisher.publishEvent(new BlogChangedEvent(saved.getId(), ChangeType.CREATED));
+        return DtoMapper.toBlogDTO(saved);
     }
 
+    @Transactional
     public Optional<BlogDTO> updateBlog(Long id, Blog blogDetails) {
         return blogRepository.findById(id)
                 .map(existingBlog -> {
                     existingBlog.setName(blogDetails.getName());
                     existingBlog.setDescription(blogDetails.getDescription());
-                    return convertToDTO(blogRepository.save(existingBlog));
+                    BlogDTO dto = DtoMapper.toBlogDTO(blogRepository.save(existingBlog));
+                    eventPublisher.publishEvent(new BlogChangedEvent(id, ChangeType.UPDATED));
+                    return dto;
                 });
     }
 
+    @Transactional
     public void deleteBlog(Long id) {
         blogRepository.deleteById(id);
+        eventPublisher.publishEvent(new BlogChangedEvent(id, ChangeType.DELETED));
     }
 
-    private BlogDTO convertToDTO(Blog blog) {
-        BlogDTO dto = new BlogDTO();
-        dto.setId(blog.getId());
-        dto.setName(blog.getName());
-        dto.setDescription(blog.getDescription());
-        dto.setCreatedAt(blog.getCreatedAt());
-        dto.setUpdatedAt(blog.getUpdatedAt());
-        dto.setPosts(blog.getPosts().stream()
-                .map(this::convertToPostDTO)
-                .collect(Collectors.toList()));
-        return dto;
-    }
-
-    private PostDTO convertToPostDTO(Post post) {
-        PostDTO dto = new PostDTO();
-        dto.setId(post.getId());
-        dto.setTitle(post.getTitle());
-        dto.setContent(post.getContent());
-        dto.setCreatedAt(post.getCreatedAt());
-        dto.setUpdatedAt(post.getUpdatedAt());
-        return dto;
+    // The representation embeds the posts, so deleting one must change the tag even though no timestamp
+    // moves; for the same reason there is no Last-Modified, which would answer If-Modified-Since with 304.
+    private ResourceVersion version(Long id, LocalDateTime updatedAt, LocalDateTime latestPostUpdatedAt, long postCount) {
+        LocalDateTime latest = latestPostUpdatedAt != null && (updatedAt == null || latestPostUpdatedAt.isAfter(updatedAt))
+                ? latestPostUpdatedAt
+                : updatedAt;
+        return ResourceVersion.etagOnly("b", id, latest, postCount);
     }
 }
@@ -0,0 +1,70 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.jfr.DtoConversionEvent;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity to DTO mapping shared by the services, and the path every read goes through.
+ */
+public final class DtoMapper {
+
+    private DtoMapper() {
+    }
+
+    public static BlogDTO toBlogDTO(Blog blog) {
+        DtoConversionEvent event = new DtoConversionEvent();
+        event.begin();
+        BlogDTO dto = new BlogDTO();
+        dto.setId(blog.getId());
+        dto.setName(blog.getName());
+        dto.setDescription(blog.getDescription());
+        dto.setCreatedAt(blog.getCreatedAt());
+        dto.setUpdatedAt(blog.getUpdatedAt());
+        List<Post> posts = blog.getPosts();
+        List<PostDTO> postDTOs = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            postDTOs.add(convertPost(post));
+        }
+        dto.setPosts(postDTOs);
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = "Blog";
+            event.blogId = blog.getId() != null ? blog.getId() : 0;
+            event.posts = postDTOs.size();
+            event.commit();
+        }
+        return dto;
+    }
+
+    public static PostDTO toPostDTO(Post post) {
+        DtoConversionEvent event = new DtoConversionEvent();
+        event.begin();
+        PostDTO dto = convertPost(post);
+        event.end();
+        if (event.shouldCommit()) {
+            event.type = "Post";
+            event.postId = dto.getId() != null ? dto.getId() : 0;
+            event.blogId = dto.getBlogId() != null ? dto.getBlogId() : 0;
+            event.posts = 1;
+            event.commit();
+        }
+        return dto;
+    }
+
+    private static PostDTO convertPost(Post post) {
+        PostDTO dto = new PostDTO();
+        dto.setId(post.getId());
+        dto.setBlogId(post.getBlog() != null ? post.getBlog().getId() : null);
+        dto.setTitle(post.getTitle());
+        dto.setContent(post.getContent());
+        dto.setCreatedAt(post.getCreatedAt());
+        dto.setUpdatedAt(post.getUpdatedAt());
+        return dto;
+    }
+}
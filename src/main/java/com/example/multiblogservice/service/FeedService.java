@@ -0,0 +1,268 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.FeedItemDTO;
+import com.example.multiblogservice.dto.FeedPageDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.example.multiblogservice.event.TransactionBatch;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.feed.FeedHead;
+import com.example.multiblogservice.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The newest posts across all blogs, or across a chosen set of blogs, newest first with keyset
+ * cursors over {@code (created_at, id)}.
+ *
+ * <p>Most requests are answered from {@link FeedHead}, which is loaded before the web server
+ * starts and then follows post changes after commit, batched per transaction like the search
+ * index. A reload of the head replays the changes applied while it read, which the older rows it
+ * read would otherwise overwrite. Pages past the head go to the database: a blog subset merges one index-ordered stream
+ * per blog k-way, the whole feed walks the global {@code (created_at, id)} index.
+ */
+@Service
+public class FeedService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(FeedService.class);
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BLOGS = 100;
+    private static final int RELOAD_CHUNK = 500;
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionBatch<PostChangedEvent> changes = TransactionBatch.afterCommit(this::apply);
+    private final FeedHead head;
+
+    private final Object rebuildLock = new Object();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> blogsRemovedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean running;
+
+    @Autowired
+    public FeedService(PostRepository postRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${multiblog.feed.head-size:1000}") int headSize) {
+        this.postRepository = postRepository;
+        this.head = new FeedHead(headSize);
+        this.readOnlyTransaction = TransactionBatch.readOnlyAfterCommit(transactionManager);
+    }
+
+    public FeedPageDTO getFeed(List<Long> blogIds, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Set<Long> blogs = blogIds == null || blogIds.isEmpty() ? null : new LinkedHashSet<>(blogIds);
+        if (blogs != null && blogs.size() > MAX_BLOGS) {
+            throw new BadRequestException("At most " + MAX_BLOGS + " blog ids per feed request");
+        }
+        FeedHead.Position after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            PostCursor position = PostCursor.decode(cursor);
+            after = new FeedHead.Position(position.createdAt(), position.id());
+        }
+
+        FeedHead.Page page = head.page(after, blogs, pageSize).orElse(null);
+        if (page == null) {
+            page = blogs == null ? loadAll(after, pageSize) : loadMerged(blogs, after, pageSize);
+        }
+
+        FeedPageDTO dto = new FeedPageDTO();
+        dto.setItems(page.items());
+        dto.setLimit(pageSize);
+        if (page.hasMore()) {
+            FeedItemDTO last = page.items().get(page.items().size() - 1);
+            dto.setNext(new PostCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return dto;
+    }
+
+    private FeedHead.Page loadAll(FeedHead.Position after, int pageSize) {
+        // One extra row tells whether another page exists.
+        PageRequest pageable = PageRequest.of(0, pageSize + 1);
+        List<FeedItemDTO> items = after == null
+                ? postRepository.findLatestFeedItems(pageable)
+                : postRepository.findFeedItemsBefore(after.createdAt(), after.id(), pageable);
+        return toPage(items, pageSize);
+    }
+
+    /**
+     * Reads at most {@code pageSize + 1} rows from each blog, in index order, and merges the
+     * streams through a heap keyed on each stream's current head.
+     */
+    private FeedHead.Page loadMerged(Set<Long> blogIds, FeedHead.Position after, int pageSize) {
+        PageRequest pageable = PageRequest.of(0, pageSize + 1);
+        PriorityQueue<BlogStream> heads = new PriorityQueue<>(blogIds.size(),
+                (a, b) -> FeedHead.NEWEST_FIRST.compare(a.head, b.head));
+        for (Long blogId : blogIds) {
+            List<FeedItemDTO> rows = after == null
+                    ? postRepository.findLatestFeedItemsByBlogId(blogId, pageable)
+                    : postRepository.findFeedItemsByBlogIdBefore(blogId, after.createdAt(), after.id(), pageable);
+            BlogStream stream = new BlogStream(rows.iterator());
+            if (stream.advance()) {
+                heads.add(stream);
+            }
+        }
+        List<FeedItemDTO> merged = new ArrayList<>(pageSize + 1);
+        while (merged.size() <= pageSize && !heads.isEmpty()) {
+            BlogStream stream = heads.poll();
+            merged.add(stream.head);
+            if (stream.advance()) {
+                heads.add(stream);
+            }
+        }
+        return toPage(merged, pageSize);
+    }
+
+    private static FeedHead.Page toPage(List<FeedItemDTO> items, int pageSize) {
+        boolean hasMore = items.size() > pageSize;
+        return new FeedHead.Page(hasMore ? items.subList(0, pageSize) : items, hasMore);
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        changes.add(event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            removeBlog(event.blogId());
+        }
+    }
+
+    @EventListener
+    public void onRemoteChangesMissed(RemoteChangesMissedEvent event) {
+        rebuild();
+    }
+
+    void rebuild() {
+        synchronized (rebuildLock) {
+            changedDuringRebuild.clear();
+            blogsRemovedDuringRebuild.clear();
+            rebuilding = true;
+            try {
+                List<FeedItemDTO> newest = readOnlyTransaction.execute(status ->
+                        postRepository.findLatestFeedItems(PageRequest.of(0, head.capacity())));
+                head.replaceAll(newest != null ? newest : List.of());
+                blogsRemovedDuringRebuild.forEach(head::removeBlog);
+                reload(new ArrayList<>(changedDuringRebuild));
+            } finally {
+                rebuilding = false;
+            }
+        }
+        log.info("Feed head loaded with {} posts", head.size());
+    }
+
+    private void removeBlog(Long blogId) {
+        if (rebuilding) {
+            blogsRemovedDuringRebuild.add(blogId);
+        }
+        head.removeBlog(blogId);
+        refillIfDepleted();
+    }
+
+    private void apply(List<PostChangedEvent> events) {
+        // Before and after writing: a rebuild running at either point may have read older rows.
+        recordIfRebuilding(events);
+        Set<Long> reload = new LinkedHashSet<>();
+        for (PostChangedEvent event : events) {
+            if (event.type() == ChangeType.DELETED) {
+                reload.remove(event.postId());
+                head.remove(event.postId());
+            } else {
+                reload.add(event.postId());
+            }
+        }
+        reload(new ArrayList<>(reload));
+        recordIfRebuilding(events);
+        refillIfDepleted();
+    }
+
+    private void recordIfRebuilding(List<PostChangedEvent> events) {
+        if (rebuilding) {
+            events.forEach(event -> changedDuringRebuild.add(event.postId()));
+        }
+    }
+
+    /**
+     * Reads the posts again and offers them to the head; posts no longer found are removed.
+     */
+    private void reload(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + RELOAD_CHUNK));
+            Set<Long> missing = new HashSet<>(chunk);
+            List<FeedItemDTO> items = readOnlyTransaction.execute(status -> postRepository.findFeedItemsByIdIn(chunk));
+            if (items != null) {
+                for (FeedItemDTO item : items) {
+                    head.offer(item);
+                    missing.remove(item.getId());
+                }
+            }
+            missing.forEach(head::remove);
+        }
+    }
+
+    // A rebuild in progress refills the head anyway.
+    private void refillIfDepleted() {
+        if (!rebuilding && head.isDepleted()) {
+            rebuild();
+        }
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Ahead of the web server's lifecycle, so the first feed request already finds the head loaded.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private static final class BlogStream {
+        private final Iterator<FeedItemDTO> rows;
+        private FeedItemDTO head;
+
+        private BlogStream(Iterator<FeedItemDTO> rows) {
+            this.rows = rows;
+        }
+
+        private boolean advance() {
+            head = rows.hasNext() ? rows.next() : null;
+            return head != null;
+        }
+    }
+}
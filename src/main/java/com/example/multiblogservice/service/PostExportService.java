@@ -0,0 +1,77 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.PostRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes all posts of a blog as NDJSON straight to an output stream. Rows come from a
+ * forward-only cursor and each entity is detached once written, so memory use is the
+ * same for ten posts or a hundred thousand.
+ */
+@Service
+public class PostExportService {
+
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter postWriter;
+
+    @Autowired
+    public PostExportService(PostRepository postRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper) {
+        this.postRepository = postRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        // The generator buffers; flushing after every post would turn each line into a write.
+        this.postWriter = objectMapper.writerFor(PostDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public long exportPosts(Long blogId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated by the newlines below, not by Jackson's default space.
+            generator.setRootValueSeparator(null);
+            Long written = readOnlyTransaction.execute(status -> {
+                long count = 0;
+                try (Stream<Post> posts = postRepository.streamByBlogId(blogId)) {
+                    Iterator<Post> iterator = posts.iterator();
+                    while (iterator.hasNext()) {
+                        Post post = iterator.next();
+                        postWriter.writeValue(generator, DtoMapper.toPostDTO(post));
+                        generator.writeRaw('\n');
+                        entityManager.detach(post);
+                        count++;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+            generator.flush();
+            return written == null ? 0 : written;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
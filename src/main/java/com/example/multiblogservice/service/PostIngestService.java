@@ -0,0 +1,172 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.BulkIngestResultDTO;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Imports newline-delimited JSON posts into a blog. The body is read one line at a time
+ * and persisted in fixed-size transactions, so memory use is bounded by the batch size
+ * and the number of reported errors rather than by the payload.
+ */
+@Service
+public class PostIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostIngestService.class);
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final BlogRepository blogRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader postReader;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    @Autowired
+    public PostIngestService(BlogRepository blogRepository,
+                             EntityManager entityManager,
+                             TransactionTemplate transactionTemplate,
+                             ObjectMapper objectMapper,
+                             Validator validator,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${multiblog.ingest.batch-size:500}") int batchSize) {
+        this.blogRepository = blogRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.postReader = objectMapper.readerFor(Post.class);
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    public BulkIngestResultDTO ingest(Long blogId, InputStream body) throws IOException {
+        if (!blogRepository.existsById(blogId)) {
+            throw new ResourceNotFoundException("Blog not found with id " + blogId);
+        }
+
+        BulkIngestResultDTO result = new BulkIngestResultDTO();
+        List<NumberedPost> batch = new ArrayList<>(batchSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            result.setReceived(result.getReceived() + 1);
+
+            Post post;
+            try {
+                post = postReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                reject(result, lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            Set<ConstraintViolation<Post>> violations = validator.validate(post);
+            if (!violations.isEmpty()) {
+                reject(result, lineNumber, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+
+            batch.add(new NumberedPost(lineNumber, post));
+            if (batch.size() == batchSize) {
+                persist(blogId, batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            persist(blogId, batch, result);
+        }
+        return result;
+    }
+
+    /**
+     * Persists a batch in one transaction. When the database rejects it, the batch is retried in
+     * halves, so only the offending lines end up rejected, at the cost of a few more transactions
+     * per bad line. A database that cannot even begin a transaction gets no retries.
+     */
+    private void persist(Long blogId, List<NumberedPost> batch, BulkIngestResultDTO result) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Blog blog = entityManager.getReference(Blog.class, blogId);
+                for (NumberedPost numbered : batch) {
+                    Post post = numbered.post();
+                    post.setId(null);
+                    post.setBlog(blog);
+                    entityManager.persist(post);
+                    eventPublisher.publishEvent(new PostChangedEvent(blogId, post.getId(), ChangeType.CREATED));
+                }
+                // Flushing here sends the inserts as JDBC batches; clearing keeps the context from growing.
+                entityManager.flush();
+                entityManager.clear();
+            });
+            result.setCreated(result.getCreated() + batch.size());
+        } catch (CannotCreateTransactionException e) {
+            log.warn("Bulk ingest batch for blog {} failed at lines {}-{}", blogId,
+                    batch.get(0).lineNumber(), batch.get(batch.size() - 1).lineNumber(), e);
+            for (NumberedPost numbered : batch) {
+                reject(result, numbered.lineNumber(), "Batch rejected by the database");
+            }
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            if (batch.size() == 1) {
+                log.warn("Bulk ingest line {} for blog {} rejected by the database", batch.get(0).lineNumber(), blogId, e);
+                reject(result, batch.get(0).lineNumber(), "Rejected by the database");
+                return;
+            }
+            log.debug("Bulk ingest batch for blog {} failed at lines {}-{}, retrying in halves", blogId,
+                    batch.get(0).lineNumber(), batch.get(batch.size() - 1).lineNumber(), e);
+            int half = batch.size() / 2;
+            persist(blogId, batch.subList(0, half), result);
+            persist(blogId, batch.subList(half, batch.size()), result);
+        }
+    }
+
+    private static void reject(BulkIngestResultDTO result, int lineNumber, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new BulkIngestResultDTO.LineError(lineNumber, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private record NumberedPost(int lineNumber, Post post) {
+    }
+}
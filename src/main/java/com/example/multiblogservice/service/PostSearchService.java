@@ -0,0 +1,213 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.SearchResultDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.example.multiblogservice.event.TransactionBatch;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.exception.ServiceUnavailableException;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.PostRepository;
+import com.example.multiblogservice.search.PostSearchIndex;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link PostSearchIndex} in step with the posts table and answers search queries from it.
+ *
+ * <p>The index is built after startup by streaming every post, off the main thread; until then
+ * searches answer 503. Post changes, local or republished from other nodes, are collected per
+ * transaction and applied after commit with one batched reload; a missed remote change
+ * triggers a full rebuild. A rebuild fills a fresh index while the current one keeps serving,
+ * then swaps it in and replays the changes made meanwhile. A failed build is retried with
+ * exponential backoff.
+ */
+@Service
+public class PostSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchService.class);
+
+    private static final int MAX_RESULTS = 100;
+    private static final int RELOAD_CHUNK = 500;
+
+    private static final Duration MAX_RETRY_BACKOFF = Duration.ofMinutes(1);
+
+    private final PostRepository postRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionBatch<PostChangedEvent> changes = TransactionBatch.afterCommit(this::apply);
+    private final Duration retryBackoff;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> blogsDeletedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile PostSearchIndex index = new PostSearchIndex();
+    private volatile boolean ready;
+
+    @Autowired
+    public PostSearchService(PostRepository postRepository,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${multiblog.search.rebuild-retry:PT1S}") Duration retryBackoff) {
+        this.postRepository = postRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = TransactionBatch.readOnlyAfterCommit(transactionManager);
+        this.retryBackoff = retryBackoff;
+    }
+
+    public SearchResultDTO search(String query, Long blogId, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Query must not be blank");
+        }
+        if (!ready) {
+            throw new ServiceUnavailableException("Search index is being built");
+        }
+        PostSearchIndex.Result result = index.search(query, blogId, Math.max(1, Math.min(limit, MAX_RESULTS)));
+
+        SearchResultDTO dto = new SearchResultDTO();
+        dto.setQuery(query);
+        dto.setBlogId(blogId);
+        dto.setTotal(result.total());
+        for (PostSearchIndex.Hit hit : result.hits()) {
+            dto.getHits().add(new SearchResultDTO.Hit(hit.postId(), hit.blogId(), hit.title(), hit.score()));
+        }
+        return dto;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildInBackground();
+    }
+
+    @EventListener
+    public void onRemoteChangesMissed(RemoteChangesMissedEvent event) {
+        rebuildInBackground();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            if (rebuilding.get()) {
+                blogsDeletedDuringRebuild.add(event.blogId());
+            }
+            index.removeBlog(event.blogId());
+        }
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        changes.add(event);
+    }
+
+    void rebuildInBackground() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().daemon().name("post-search-index").start(() -> {
+            try {
+                Duration backoff = retryBackoff;
+                while (true) {
+                    try {
+                        rebuild();
+                        return;
+                    } catch (RuntimeException e) {
+                        log.error("Building the post search index failed, retrying in {}", backoff, e);
+                    }
+                    Thread.sleep(backoff.toMillis());
+                    backoff = backoff.multipliedBy(2);
+                    if (backoff.compareTo(MAX_RETRY_BACKOFF) > 0) {
+                        backoff = MAX_RETRY_BACKOFF;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+    }
+
+    /**
+     * Builds a new index and swaps it in. Changes applied meanwhile went to the index being
+     * served; they are replayed on the new one after the swap, from the database's current rows.
+     * Runs with {@code rebuilding} set, so those changes are recorded.
+     */
+    void rebuild() {
+        long start = System.nanoTime();
+        changedDuringRebuild.clear();
+        blogsDeletedDuringRebuild.clear();
+        PostSearchIndex fresh = new PostSearchIndex();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Post> posts = postRepository.streamAll()) {
+                Iterator<Post> iterator = posts.iterator();
+                while (iterator.hasNext()) {
+                    Post post = iterator.next();
+                    fresh.upsert(post.getId(), post.getBlog().getId(), post.getTitle(), post.getContent());
+                    entityManager.detach(post);
+                }
+            }
+        });
+        index = fresh;
+        blogsDeletedDuringRebuild.forEach(fresh::removeBlog);
+        reload(new ArrayList<>(changedDuringRebuild));
+        ready = true;
+        log.info("Post search index built: {} posts in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void apply(List<PostChangedEvent> events) {
+        Set<Long> reload = new LinkedHashSet<>();
+        for (PostChangedEvent event : events) {
+            if (rebuilding.get()) {
+                changedDuringRebuild.add(event.postId());
+            }
+            if (event.type() == ChangeType.DELETED) {
+                reload.remove(event.postId());
+                index.remove(event.postId());
+            } else {
+                reload.add(event.postId());
+            }
+        }
+        reload(new ArrayList<>(reload));
+    }
+
+    private void reload(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += RELOAD_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + RELOAD_CHUNK));
+            Set<Long> missing = new HashSet<>(chunk);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (Post post : postRepository.findAllById(chunk)) {
+                    index.upsert(post.getId(), post.getBlog().getId(), post.getTitle(), post.getContent());
+                    missing.remove(post.getId());
+                }
+            });
+            missing.forEach(index::remove);
+        }
+    }
+
+}
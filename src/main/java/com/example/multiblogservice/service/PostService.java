@@ -1,61 +1,116 @@
 package com.example.multiblogservice.service;
 
+import com.example.multiblogservice.cache.DtoCache;
 import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
 import com.example.multiblogservice.model.Post;
 import com.example.multiblogservice.repository.PostRepository;
 import com.example.multiblogservice.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "multiblog.service", histogram = true)
 public class PostService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final PostRepository postRepository;
+    private final DtoCache dtoCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PostService(PostRepository postRepository) {
+    public PostService(PostRepository postRepository, DtoCache dtoCache, ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
+        this.dtoCache = dtoCache;
+        this.eventPublisher = eventPublisher;
     }
 
     public List<PostDTO> getAllPostsByBlogId(Long blogId) {
         return postRepository.findByBlogId(blogId).stream()
-                .map(this::convertToDTO)
+                .map(DtoMapper::toPostDTO)
                 .collect(Collectors.toList());
     }
 
+    public PostPageDTO getPostsPage(Long blogId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a count query.
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Post> posts;
+        if (cursor == null || cursor.isBlank()) {
+            posts = postRepository.findFirstPageByBlogId(blogId, pageable);
+        } else {
+            PostCursor position = PostCursor.decode(cursor);
+            posts = postRepository.findPageByBlogIdAfter(blogId, position.createdAt(), position.id(), pageable);
+        }
+
+        boolean hasMore = posts.size() > pageSize;
+        List<Post> page = hasMore ? posts.subList(0, pageSize) : posts;
+
+        PostPageDTO dto = new PostPageDTO();
+        dto.setPosts(page.stream()
+                .map(DtoMapper::toPostDTO)
+                .collect(Collectors.toList()));
+        dto.setLimit(pageSize);
+        if (hasMore) {
+            Post last = page.get(page.size() - 1);
+            dto.setNext(new PostCursor(last.getCreatedAt(), last.getId()).encode());
+        }
+        return dto;
+    }
+
+    public Optional<ResourceVersion> getPostsVersion(Long blogId) {
+        PostRepository.PostsVersion version = postRepository.findPostsVersionByBlogId(blogId);
+        return Optional.of(ResourceVersion.etagOnly("l", blogId, version.getLatestUpdatedAt(), version.getPostCount()));
+    }
+
+    public Optional<ResourceVersion> getPostVersion(Long id) {
+        // Hot posts answer from the cache; otherwise only the timestamp column is read, never the content.
+        return dtoCache.peekPost(id)
+                .map(PostDTO::getUpdatedAt)
+                .or(() -> postRepository.findUpdatedAtById(id))
+                .map(updatedAt -> ResourceVersion.of("p", id, updatedAt));
+    }
+
     public Optional<PostDTO> getPostById(Long id) {
-        return postRepository.findById(id).map(this::convertToDTO);
+        return dtoCache.getPost(id, () -> postRepository.findById(id).map(DtoMapper::toPostDTO));
     }
 
+    @Transactional
     public PostDTO createPost(Post post) {
-        return convertToDTO(postRepository.save(post));
+        Post saved = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(saved.getBlog().getId(), saved.getId(), ChangeType.CREATED));
+        return DtoMapper.toPostDTO(saved);
     }
 
+    @Transactional
     public Optional<PostDTO> updatePost(Long id, Post postDetails) {
         return postRepository.findById(id)
                 .map(existingPost -> {
                     existingPost.setTitle(postDetails.getTitle());
                     existingPost.setContent(postDetails.getContent());
-                    return convertToDTO(postRepository.save(existingPost));
+                    Post saved = postRepository.save(existingPost);
+                    eventPublisher.publishEvent(new PostChangedEvent(existingPost.getBlog().getId(), id, ChangeType.UPDATED));
+                    return DtoMapper.toPostDTO(saved);
                 });
     }
 
+    @Transactional
     public void deletePost(Long id) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Post not found with id " + id));
         postRepository.delete(post);
-    }
-
-    private PostDTO convertToDTO(Post post) {
-        PostDTO dto = new PostDTO();
-        dto.setId(post.getId());
-        dto.setTitle(post.getTitle());
-        dto.setContent(post.getContent());
-        dto.setCreatedAt(post.getCreatedAt());
-        dto.setUpdatedAt(post.getUpdatedAt());
-        return dto;
+        eventPublisher.publishEvent(new PostChangedEvent(post.getBlog().getId(), id, ChangeType.DELETED));
     }
 }
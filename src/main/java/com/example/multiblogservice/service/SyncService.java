@@ -0,0 +1,203 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.SyncChangeDTO;
+import com.example.multiblogservice.dto.SyncPageDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.TransactionBatch;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.model.ChangeLogEntry;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.repository.ChangeLogRepository;
+import com.example.multiblogservice.repository.PostRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Incremental sync for blog replicas: everything that changed in a blog after a sequence number,
+ * as post upserts and deletion tombstones in sequence order.
+ *
+ * <p>Writes append to the change log inside their own transaction, just before it commits, so the
+ * log never disagrees with the posts. A post keeps only its latest row, which bounds the log to
+ * the number of live posts plus the tombstones of the retention window. Tombstones older than
+ * that are purged; a client whose cursor predates the purge is told to resync from 0.
+ */
+@Service
+public class SyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STATEMENT_CHUNK = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final PostRepository postRepository;
+    private final BlogRepository blogRepository;
+    private final Duration tombstoneRetention;
+    // Changes replayed from other nodes arrive outside a transaction and were logged by their node.
+    private final TransactionBatch<Object> changes = TransactionBatch.beforeCommit(this::append);
+
+    @Autowired
+    public SyncService(ChangeLogRepository changeLogRepository,
+                       PostRepository postRepository,
+                       BlogRepository blogRepository,
+                       @Value("${multiblog.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.changeLogRepository = changeLogRepository;
+        this.postRepository = postRepository;
+        this.blogRepository = blogRepository;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public SyncPageDTO getChanges(Long blogId, long since, int limit) {
+        if (since < 0) {
+            throw new BadRequestException("since must not be negative");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        SyncPageDTO page = new SyncPageDTO();
+        page.setBlogId(blogId);
+
+        List<ChangeLogEntry> rows = changeLogRepository.findPage(blogId, since, PageRequest.of(0, pageSize + 1));
+        // Read after the page: a purge that committed before it moved the horizon first.
+        if (since > 0 && since < changeLogRepository.findPurgedThrough()) {
+            // Deletions after the cursor may have been purged; only a full resync is safe.
+            page.setChanges(List.of());
+            page.setResync(true);
+            return page;
+        }
+        if (rows.isEmpty() && since == 0 && !blogRepository.existsById(blogId)) {
+            throw new ResourceNotFoundException("Blog not found with id " + blogId);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<ChangeLogEntry> entries = hasMore ? rows.subList(0, pageSize) : rows;
+
+        List<Long> upserted = entries.stream()
+                .filter(entry -> ChangeLogEntry.UPSERT.equals(entry.getChangeType()))
+                .map(ChangeLogEntry::getPostId)
+                .toList();
+        Map<Long, PostDTO> posts = new HashMap<>();
+        if (!upserted.isEmpty()) {
+            postRepository.findAllById(upserted).forEach(post -> posts.put(post.getId(), DtoMapper.toPostDTO(post)));
+        }
+
+        List<SyncChangeDTO> changes = new ArrayList<>(entries.size());
+        for (ChangeLogEntry entry : entries) {
+            switch (entry.getChangeType()) {
+                case ChangeLogEntry.UPSERT -> {
+                    // A post deleted since the page was read is skipped; its tombstone comes later.
+                    PostDTO post = posts.get(entry.getPostId());
+                    if (post != null) {
+                        changes.add(new SyncChangeDTO(entry.getSeq(), "upsert", entry.getPostId(), post));
+                    }
+                }
+                case ChangeLogEntry.DELETE -> changes.add(new SyncChangeDTO(entry.getSeq(), "delete", entry.getPostId(), null));
+                case ChangeLogEntry.BLOG_DELETE -> changes.add(new SyncChangeDTO(entry.getSeq(), "blog-delete", null, null));
+                default -> log.warn("Skipping change log entry {} of unknown type {}", entry.getSeq(), entry.getChangeType());
+            }
+        }
+        page.setChanges(changes);
+        page.setNext(entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq());
+        page.setHasMore(hasMore);
+        return page;
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        changes.add(event);
+    }
+
+    @EventListener
+    public void onBlogChanged(BlogChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            changes.add(event);
+        }
+    }
+
+    private void append(List<Object> events) {
+        // The last change per post decides whether it is logged as an upsert or a tombstone.
+        Map<Long, PostChangedEvent> posts = new LinkedHashMap<>();
+        Set<Long> deletedBlogs = new LinkedHashSet<>();
+        for (Object event : events) {
+            if (event instanceof PostChangedEvent post) {
+                posts.put(post.postId(), post);
+            } else if (event instanceof BlogChangedEvent blog) {
+                deletedBlogs.add(blog.blogId());
+            }
+        }
+        List<Long> upserts = new ArrayList<>();
+        List<Long> deletes = new ArrayList<>();
+        for (PostChangedEvent event : posts.values()) {
+            if (deletedBlogs.contains(event.blogId())) {
+                continue;
+            }
+            (event.type() == ChangeType.DELETED ? deletes : upserts).add(event.postId());
+        }
+        // In id order, so transactions touching the same blogs cannot deadlock.
+        Set<Long> blogs = new TreeSet<>(deletedBlogs);
+        posts.values().forEach(event -> blogs.add(event.blogId()));
+        blogs.forEach(changeLogRepository::lockBlogForAppend);
+        for (List<Long> chunk : chunks(upserts)) {
+            changeLogRepository.insertUpserts(chunk);
+        }
+        for (List<Long> chunk : chunks(deletes)) {
+            changeLogRepository.insertTombstones(chunk);
+        }
+        List<Long> touched = new ArrayList<>(upserts);
+        touched.addAll(deletes);
+        for (List<Long> chunk : chunks(touched)) {
+            changeLogRepository.deleteSuperseded(chunk);
+        }
+        for (Long blogId : deletedBlogs) {
+            changeLogRepository.deleteBlogEntries(blogId);
+            changeLogRepository.insertBlogTombstone(blogId);
+        }
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += STATEMENT_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + STATEMENT_CHUNK)));
+        }
+        return chunks;
+    }
+
+    /**
+     * Drops tombstones older than the retention window and moves the resync horizon past them.
+     * Every node runs this; a purge that finds nothing new changes nothing.
+     */
+    @Scheduled(fixedDelayString = "${multiblog.sync.purge-interval:PT1H}",
+            initialDelayString = "${multiblog.sync.purge-interval:PT1H}")
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(tombstoneRetention);
+        Optional<Long> purgeThrough = changeLogRepository.findLastTombstoneBefore(cutoff);
+        if (purgeThrough.isEmpty()) {
+            return;
+        }
+        changeLogRepository.lockHorizon();
+        changeLogRepository.advancePurgedThrough(purgeThrough.get());
+        int purged = changeLogRepository.deleteTombstonesThrough(purgeThrough.get());
+        log.info("Purged {} change log tombstones through sequence {}", purged, purgeThrough.get());
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.multiblogservice.sql;
+
+import com.example.multiblogservice.jfr.ConnectionAcquireEvent;
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time spent executing statements and batches to the current counter scope, and
+ * emits a {@link ConnectionAcquireEvent} per connection acquisition. Hibernate creates one
+ * instance per session from {@code hibernate.session.events.auto}.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private ConnectionAcquireEvent connectionAcquireEvent;
+
+    private long executeStart;
+
+    private long batchStart;
+
+    @Override
+    public void jdbcConnectionAcquisitionStart() {
+        connectionAcquireEvent = new ConnectionAcquireEvent();
+        connectionAcquireEvent.begin();
+    }
+
+    @Override
+    public void jdbcConnectionAcquisitionEnd() {
+        if (connectionAcquireEvent != null) {
+            connectionAcquireEvent.commit();
+            connectionAcquireEvent = null;
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.jdbcExecuted(System.nanoTime() - executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.jdbcExecuted(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.multiblogservice.sql;
+
+/**
+ * Thread-bound SQL statement and JDBC time accounting. A scope is opened with {@link #start()}
+ * and closed with {@link Stats#close()}; scopes nest, and every statement is counted in each
+ * open scope of the current thread. Outside any scope, counting is a no-op.
+ */
+public final class SqlStatementCounter {
+
+    private static final ThreadLocal<Stats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementCounter() {
+    }
+
+    public static Stats start() {
+        Stats stats = new Stats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static void statementPrepared() {
+        for (Stats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.statements++;
+        }
+    }
+
+    static void jdbcExecuted(long nanos) {
+        for (Stats stats = CURRENT.get(); stats != null; stats = stats.parent) {
+            stats.jdbcNanos += nanos;
+        }
+    }
+
+    public static final class Stats implements AutoCloseable {
+
+        private final Stats parent;
+
+        private int statements;
+
+        private long jdbcNanos;
+
+        private Stats(Stats parent) {
+            this.parent = parent;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.multiblogservice.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements and JDBC time of each request. The totals are published as
+ * {@code multiblog.sql.statements} and {@code multiblog.sql.time} per route, optionally returned
+ * as response headers, and requests over the statement budget are logged.
+ */
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final boolean headersEnabled;
+    private final int budget;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Autowired
+    public SqlStatementFilter(@Value("${multiblog.sql-stats.headers:true}") boolean headersEnabled,
+                              @Value("${multiblog.sql-stats.budget:10}") int budget,
+                              ObjectProvider<MeterRegistry> meterRegistry) {
+        this.headersEnabled = headersEnabled;
+        this.budget = budget;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Stats stats = SqlStatementCounter.start()) {
+            StatsHeaderResponse statsResponse = headersEnabled ? new StatsHeaderResponse(response, stats) : null;
+            try {
+                filterChain.doFilter(request, statsResponse != null ? statsResponse : response);
+            } finally {
+                if (statsResponse != null) {
+                    statsResponse.writeHeaders();
+                }
+                report(request, stats);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementCounter.Stats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            DistributionSummary.builder("multiblog.sql.statements")
+                    .description("SQL statements executed per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(stats.getStatements());
+            Timer.builder("multiblog.sql.time")
+                    .description("Time spent executing JDBC statements per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(registry)
+                    .record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+        }
+        if (budget > 0 && stats.getStatements() > budget) {
+            log.warn("{} {} executed {} SQL statements ({} ms), over the budget of {}", request.getMethod(),
+                    request.getRequestURI(), stats.getStatements(), TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos()), budget);
+        }
+    }
+
+    /**
+     * Writes the headers just before the response is committed, while they can still be set.
+     */
+    private static final class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Stats stats;
+        private boolean headersWritten;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlStatementCounter.Stats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        void writeHeaders() {
+            if (!headersWritten && !isCommitted()) {
+                setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+                setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.getJdbcNanos())));
+            }
+            headersWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.multiblogservice.stream;
+
+import com.example.multiblogservice.cache.NodeIdentity;
+import com.example.multiblogservice.dto.ChangeEventDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.event.RemoteChangesMissedEvent;
+import com.example.multiblogservice.event.TransactionBatch;
+import com.example.multiblogservice.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed post and blog changes to Server-Sent Events subscribers, for one blog or all
+ * of them. Changes made on other nodes arrive as the same application events and are pushed too.
+ *
+ * <p>An idle subscriber costs an async request and an empty queue, never a thread: each has a
+ * bounded linked queue that publishing only offers to, and a virtual thread drains it while it
+ * has anything to send. A subscriber whose queue fills up is disconnected rather than slowing
+ * anyone else down; it reconnects with {@code Last-Event-ID} and is replayed what it missed
+ * from the recent history. Ids are {@code <node>-<sequence>}: a resume this node cannot serve
+ * (older than the history, or from another node or process) gets a {@code reset} event instead,
+ * telling the client to reload.
+ *
+ * <p>A transaction that changes more than {@code coalesce-above} posts of one blog, such as a
+ * bulk import, is pushed as a single {@code posts} event for that blog rather than one event per
+ * post, so it neither floods subscribers nor overflows their buffers.
+ */
+@Component
+public class ChangeStream implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeStream.class);
+
+    private static final Change HEARTBEAT = new Change(-1, null, null, null);
+
+    private final ObjectMapper objectMapper;
+    private final String node;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final int coalesceAbove;
+    private final TransactionBatch<Object> changes = TransactionBatch.afterCommit(this::publishChanges);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong overflowDisconnects = new AtomicLong();
+    private final ExecutorService senders;
+
+    // Sequence numbers, history and the fan-out to subscriber queues share one lock, so a new
+    // subscriber's replay and its live events neither overlap nor leave a gap.
+    private final Object lock = new Object();
+    private final Change[] history;
+    private long lastSequence;
+
+    private volatile boolean running;
+    private ScheduledExecutorService heartbeats;
+
+    @Autowired
+    public ChangeStream(ObjectMapper objectMapper,
+                        NodeIdentity nodeIdentity,
+                        @Value("${multiblog.stream.history-size:1024}") int historySize,
+                        @Value("${multiblog.stream.buffer-size:1024}") int bufferSize,
+                        @Value("${multiblog.stream.max-subscribers:4000}") int maxSubscribers,
+                        @Value("${multiblog.stream.timeout:PT30M}") Duration timeout,
+                        @Value("${multiblog.stream.heartbeat:PT20S}") Duration heartbeat,
+                        @Value("${multiblog.stream.coalesce-above:100}") int coalesceAbove) {
+        this(objectMapper, nodeIdentity, historySize, bufferSize, maxSubscribers, timeout, heartbeat, coalesceAbove,
+                Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    ChangeStream(ObjectMapper objectMapper, NodeIdentity nodeIdentity, int historySize, int bufferSize,
+                 int maxSubscribers, Duration timeout, Duration heartbeat, int coalesceAbove, ExecutorService senders) {
+        this.objectMapper = objectMapper;
+        this.node = nodeIdentity.id();
+        this.history = new Change[historySize];
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.coalesceAbove = coalesceAbove;
+        this.senders = senders;
+    }
+
+    /**
+     * Opens a stream of the changes to {@code blogId} (null for all blogs), first replaying
+     * those after {@code lastEventId} when it is still in the history.
+     */
+    public SseEmitter subscribe(Long blogId, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many change stream subscribers, retry later");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        synchronized (lock) {
+            List<Change> replay = replay(lastEventId);
+            Subscriber subscriber = new Subscriber(blogId, emitter, bufferSize + replay.size());
+            replay.stream().filter(subscriber::wants).forEach(subscriber.queue::offer);
+            subscribers.add(subscriber);
+            emitter.onCompletion(() -> subscribers.remove(subscriber));
+            emitter.onTimeout(() -> {
+                subscribers.remove(subscriber);
+                emitter.complete();
+            });
+            emitter.onError(error -> subscribers.remove(subscriber));
+            subscriber.drainLater();
+        }
+        return emitter;
+    }
+
+    // Guarded by lock.
+    private List<Change> replay(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long resumeAfter = parseSequence(lastEventId);
+        long oldest = Math.max(1, lastSequence - history.length + 1);
+        if (resumeAfter < 0 || resumeAfter > lastSequence || resumeAfter + 1 < oldest) {
+            return List.of(new Change(lastSequence, null, "reset", "{}"));
+        }
+        List<Change> missed = new ArrayList<>();
+        for (long sequence = resumeAfter + 1; sequence <= lastSequence; sequence++) {
+            missed.add(history[(int) (sequence % history.length)]);
+        }
+        return missed;
+    }
+
+    private long parseSequence(String lastEventId) {
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(node)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @EventListener
+    public void onPostChanged(PostChangedEvent event) {
+        changes.add(event);
+    }
+
+    @EventListener
+    public void onBlogChanged(BlogChangedEvent event) {
+        changes.add(event);
+    }
+
+    private void publishChanges(List<Object> events) {
+        Map<Long, Integer> postsPerBlog = new HashMap<>();
+        for (Object event : events) {
+            if (event instanceof PostChangedEvent post) {
+                postsPerBlog.merge(post.blogId(), 1, Integer::sum);
+            }
+        }
+        Set<Long> coalesced = new HashSet<>();
+        for (Object event : events) {
+            if (event instanceof PostChangedEvent post) {
+                if (postsPerBlog.get(post.blogId()) <= coalesceAbove) {
+                    publish("post", post.blogId(), new ChangeEventDTO("post", post.type(), post.blogId(), post.postId()));
+                } else if (coalesced.add(post.blogId())) {
+                    publish("posts", post.blogId(), new ChangeEventDTO("posts", ChangeType.UPDATED, post.blogId(), null));
+                }
+            } else if (event instanceof BlogChangedEvent blog) {
+                publish("blog", blog.blogId(), new ChangeEventDTO("blog", blog.type(), blog.blogId(), null));
+            }
+        }
+    }
+
+    @EventListener
+    public void onRemoteChangesMissed(RemoteChangesMissedEvent event) {
+        publish("reset", null, null);
+    }
+
+    void publish(String name, Long blogId, ChangeEventDTO payload) {
+        String data;
+        try {
+            data = payload != null ? objectMapper.writeValueAsString(payload) : "{}";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize change event", e);
+        }
+        synchronized (lock) {
+            Change change = new Change(++lastSequence, blogId, name, data);
+            history[(int) (change.sequence() % history.length)] = change;
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.wants(change)) {
+                    subscriber.offer(change);
+                }
+            }
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void sendHeartbeats() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @Override
+    public void start() {
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    // The default phase stops before the web server, so graceful shutdown does not wait out open streams.
+    @Override
+    public void stop() {
+        running = false;
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("multiblog.stream.subscribers", subscribers, Set::size)
+                .description("Open change stream connections")
+                .register(registry);
+        FunctionCounter.builder("multiblog.stream.overflows", overflowDisconnects, AtomicLong::get)
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(registry);
+    }
+
+    private String eventId(long sequence) {
+        return node + "-" + sequence;
+    }
+
+    /**
+     * One committed change, serialized once for every subscriber.
+     */
+    private record Change(long sequence, Long blogId, String name, String data) {
+    }
+
+    private final class Subscriber {
+        private final Long blogId;
+        private final SseEmitter emitter;
+        private final LinkedBlockingQueue<Change> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long blogId, SseEmitter emitter, int capacity) {
+            this.blogId = blogId;
+            this.emitter = emitter;
+            this.queue = new LinkedBlockingQueue<>(capacity);
+        }
+
+        private boolean wants(Change change) {
+            return blogId == null || change.blogId() == null || blogId.equals(change.blogId());
+        }
+
+        private void offer(Change change) {
+            if (!queue.offer(change)) {
+                if (subscribers.remove(this)) {
+                    overflowDisconnects.incrementAndGet();
+                    log.debug("Disconnecting change stream subscriber for blog {}: {} events behind", blogId, queue.size());
+                    // The sender may be blocked on this very connection; complete it off this thread.
+                    senders.execute(emitter::complete);
+                }
+                return;
+            }
+            drainLater();
+        }
+
+        private void drainLater() {
+            if (!queue.isEmpty() && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    Change change;
+                    while ((change = queue.poll()) != null) {
+                        emitter.send(change == HEARTBEAT
+                                ? SseEmitter.event().comment("heartbeat")
+                                : SseEmitter.event().id(eventId(change.sequence())).name(change.name())
+                                        .data(change.data(), MediaType.APPLICATION_JSON));
+                    }
+                    draining.set(false);
+                    // An offer that lost the race with set(false) above left its change for us.
+                } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // The client went away; the container completes the request and runs onError.
+                subscribers.remove(this);
+                draining.set(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.multiblogservice.views;
+
+import com.example.multiblogservice.dto.PostViewsDTO;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts post views in memory and writes them behind to {@link PostViewStore}.
+ *
+ * <p>A view is one map lookup and a {@link LongAdder} increment: no lock, no allocation once the
+ * post is tracked, and no contention between threads viewing the same post. A single flusher
+ * thread writes the deltas since its previous flush every {@code flush-interval}, and once more
+ * on shutdown. A failed flush keeps the deltas for the next one.
+ *
+ * <p>At most {@code max-keys} posts are tracked. Posts not viewed since the previous flush are
+ * dropped from the map; when it is full anyway, views of untracked posts are counted as dropped
+ * and an early flush is requested to free up room. A view landing exactly while its idle post is
+ * being dropped can be lost too, which view analytics tolerate.
+ */
+@Component
+public class PostViewCounter implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PostViewCounter.class);
+
+    private static final int MAX_MOST_VIEWED = 100;
+
+    private final PostViewStore store;
+    private final Duration flushInterval;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final LongAdder droppedViews = new LongAdder();
+    private final LongAdder flushedViews = new LongAdder();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private volatile boolean running;
+    private ScheduledExecutorService flusher;
+
+    @Autowired
+    public PostViewCounter(PostViewStore store,
+                           @Value("${multiblog.views.flush-interval:PT5S}") Duration flushInterval,
+                           @Value("${multiblog.views.max-keys:100000}") int maxKeys) {
+        this.store = store;
+        this.flushInterval = flushInterval;
+        this.maxKeys = maxKeys;
+    }
+
+    public void record(Long postId) {
+        Counter counter = counters.get(postId);
+        if (counter == null) {
+            counter = track(postId);
+            if (counter == null) {
+                return;
+            }
+        }
+        counter.views.increment();
+    }
+
+    private Counter track(Long postId) {
+        if (counters.size() >= maxKeys) {
+            droppedViews.increment();
+            requestFlush();
+            return null;
+        }
+        return counters.computeIfAbsent(postId, id -> new Counter());
+    }
+
+    /**
+     * The stored count of a post plus the views this node has not flushed yet, or empty if there
+     * is no such post in the blog.
+     */
+    public Optional<PostViewsDTO> getViews(Long blogId, Long postId) {
+        return store.findViews(blogId, postId).map(views -> new PostViewsDTO(postId, views + unflushed(postId)));
+    }
+
+    public List<PostViewsDTO> getMostViewed(Long blogId, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_MOST_VIEWED));
+        List<PostViewsDTO> mostViewed = new ArrayList<>(store.findMostViewed(blogId, size));
+        mostViewed.forEach(post -> post.setViews(post.getViews() + unflushed(post.getPostId())));
+        mostViewed.sort(Comparator.comparingLong(PostViewsDTO::getViews).reversed());
+        return mostViewed;
+    }
+
+    private long unflushed(Long postId) {
+        Counter counter = counters.get(postId);
+        return counter != null ? Math.max(0, counter.views.sum() - counter.flushed) : 0;
+    }
+
+    /**
+     * Writes every delta since the previous flush. Runs on the flusher thread only, or on the
+     * stopping thread once the flusher has terminated.
+     */
+    void flush() {
+        Map<Long, Long> deltas = new LinkedHashMap<>();
+        List<Long> newPostIds = new ArrayList<>();
+        List<Long> idle = new ArrayList<>();
+        Map<Counter, Long> totals = new LinkedHashMap<>();
+        counters.forEach((postId, counter) -> {
+            long total = counter.views.sum();
+            if (total > counter.flushed) {
+                deltas.put(postId, total - counter.flushed);
+                totals.put(counter, total);
+                if (!counter.stored) {
+                    newPostIds.add(postId);
+                }
+            } else {
+                idle.add(postId);
+            }
+        });
+
+        if (!deltas.isEmpty()) {
+            try {
+                store.addViews(newPostIds, deltas);
+            } catch (RuntimeException e) {
+                log.warn("Could not flush view counts of {} posts, retrying with the next flush", deltas.size(), e);
+                return;
+            }
+            totals.forEach((counter, total) -> {
+                flushedViews.add(total - counter.flushed);
+                counter.flushed = total;
+                counter.stored = true;
+            });
+        }
+        for (Long postId : idle) {
+            counters.computeIfPresent(postId, (id, counter) -> counter.views.sum() > counter.flushed ? counter : null);
+        }
+    }
+
+    private void requestFlush() {
+        ScheduledExecutorService executor = flusher;
+        if (executor == null || !flushRequested.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the final flush takes care of it.
+            flushRequested.set(false);
+        }
+    }
+
+    int trackedPosts() {
+        return counters.size();
+    }
+
+    @Override
+    public void start() {
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "post-view-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.shutdown();
+            try {
+                if (!flusher.awaitTermination(flushInterval.toMillis() + 10_000, TimeUnit.MILLISECONDS)) {
+                    log.warn("View count flusher did not stop in time");
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server, so views served during graceful shutdown make the final flush.
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("multiblog.views.tracked", counters, Map::size)
+                .description("Posts with view counts held in memory")
+                .register(registry);
+        FunctionCounter.builder("multiblog.views.flushed", flushedViews, LongAdder::sum)
+                .description("Views written to the database")
+                .register(registry);
+        FunctionCounter.builder("multiblog.views.dropped", droppedViews, LongAdder::sum)
+                .description("Views not counted because too many posts were tracked")
+                .register(registry);
+    }
+
+    private static final class Counter {
+        private final LongAdder views = new LongAdder();
+        // Written by the flushing thread only.
+        private volatile long flushed;
+        private boolean stored;
+    }
+}
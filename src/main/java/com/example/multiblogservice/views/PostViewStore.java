@@ -0,0 +1,62 @@
+package com.example.multiblogservice.views;
+
+import com.example.multiblogservice.dto.PostViewsDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The persisted view counts. Increments are applied as {@code views = views + delta}, so nodes
+ * flushing the same post never overwrite each other.
+ */
+@Component
+public class PostViewStore {
+
+    // Creates the rows the increments need; skips posts deleted since they were viewed.
+    private static final String INSERT_MISSING = "INSERT INTO post_views (post_id, views) " +
+            "SELECT p.id, 0 FROM posts p WHERE p.id = ? ON CONFLICT DO NOTHING";
+
+    private static final String ADD_VIEWS = "UPDATE post_views SET views = views + ? WHERE post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PostViewStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds {@code deltas} in one transaction of at most two batched statements.
+     * {@code newPostIds} are those that may not have a row yet.
+     */
+    @Transactional
+    public void addViews(Collection<Long> newPostIds, Map<Long, Long> deltas) {
+        if (!newPostIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_MISSING, newPostIds.stream().map(id -> new Object[]{id}).toList());
+        }
+        jdbcTemplate.batchUpdate(ADD_VIEWS, deltas.entrySet().stream()
+                .map(delta -> new Object[]{delta.getValue(), delta.getKey()})
+                .toList());
+    }
+
+    /**
+     * The stored count of a post, 0 if it has no views yet, or empty if the blog has no such post.
+     */
+    public Optional<Long> findViews(Long blogId, Long postId) {
+        return jdbcTemplate.query("SELECT COALESCE(v.views, 0) FROM posts p " +
+                        "LEFT JOIN post_views v ON v.post_id = p.id WHERE p.id = ? AND p.blog_id = ?",
+                (rs, rowNum) -> rs.getLong(1), postId, blogId).stream().findFirst();
+    }
+
+    public List<PostViewsDTO> findMostViewed(Long blogId, int limit) {
+        return jdbcTemplate.query("SELECT v.post_id, v.views FROM post_views v JOIN posts p ON p.id = v.post_id " +
+                        "WHERE p.blog_id = ? ORDER BY v.views DESC, v.post_id LIMIT ?",
+                (rs, rowNum) -> new PostViewsDTO(rs.getLong(1), rs.getLong(2)), blogId, limit);
+    }
+}
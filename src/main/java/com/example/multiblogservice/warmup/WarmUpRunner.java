@@ -0,0 +1,225 @@
+package com.example.multiblogservice.warmup;
+
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.dto.BlogSummaryDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
+import com.example.multiblogservice.jfr.WarmUpEvent;
+import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primes the connection pool, the read caches and the JIT before the instance reports ready.
+ * Application runners complete before Spring Boot publishes {@code ReadinessState.ACCEPTING_TRAFFIC},
+ * so {@code /actuator/health/readiness} stays down until this returns. The work is best effort and
+ * bounded by {@code multiblog.warmup.budget}; a failure is logged and readiness flips regardless.
+ *
+ * <p>Warm-up calls are not traffic: the {@code @Timed} service timers they started are removed
+ * afterwards, so they begin again with the first request, and a {@link WarmUpEvent} marks the span
+ * in JFR recordings.
+ */
+@Component
+@ConditionalOnProperty(name = "multiblog.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final int PAGE_SIZE = 20;
+    private static final String SERVICE_TIMER = "multiblog.service";
+
+    private final BlogService blogService;
+    private final PostService postService;
+    private final ResponseBodyCache responseBodyCache;
+    private final ObjectMapper objectMapper;
+    private final DataSource dataSource;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Duration budget;
+    private final int topBlogs;
+    private final int iterations;
+
+    @Autowired
+    public WarmUpRunner(BlogService blogService,
+                        PostService postService,
+                        ResponseBodyCache responseBodyCache,
+                        ObjectMapper objectMapper,
+                        DataSource dataSource,
+                        ObjectProvider<MeterRegistry> meterRegistry,
+                        @Value("${multiblog.warmup.budget:PT20S}") Duration budget,
+                        @Value("${multiblog.warmup.top-blogs:20}") int topBlogs,
+                        @Value("${multiblog.warmup.iterations:200}") int iterations) {
+        this.blogService = blogService;
+        this.postService = postService;
+        this.responseBodyCache = responseBodyCache;
+        this.objectMapper = objectMapper;
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.topBlogs = topBlogs;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        WarmUpEvent event = new WarmUpEvent();
+        event.begin();
+        Report report = warmUp();
+        event.end();
+        if (event.shouldCommit()) {
+            event.outcome = report.outcome();
+            event.iterations = report.iterations();
+            event.commit();
+        }
+        log.info("Warm-up {} in {} ms: {} connections opened, {} blogs and {} posts cached, {} read iterations",
+                report.outcome(), report.durationMillis(), report.connections(), report.blogs(), report.posts(),
+                report.iterations());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.find(SERVICE_TIMER).meters().forEach(registry::remove);
+            Timer.builder("multiblog.warmup")
+                    .description("Time spent warming up before reporting ready")
+                    .tag("outcome", report.outcome())
+                    .register(registry)
+                    .record(report.durationMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    Report warmUp() {
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        Report.Builder report = new Report.Builder();
+        try {
+            report.connections = openMinimumIdle();
+
+            List<BlogSummaryDTO> summaries = blogService.getAllBlogSummaries();
+            List<Long> blogIds = mostActive(summaries);
+            List<Long> postIds = new ArrayList<>();
+            for (Long blogId : blogIds) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return report.build("budget-exhausted", start);
+                }
+                List<Long> cached = prefill(blogId);
+                postIds.addAll(cached);
+                report.blogs++;
+                report.posts += cached.size();
+            }
+
+            // Cache hits alone would leave the query and mapping paths cold, so these go to the database.
+            // The summaries are a GROUP BY over every post; that query ran once above and is not repeated.
+            for (int i = 0; i < iterations && !blogIds.isEmpty(); i++) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return report.build("budget-exhausted", start);
+                }
+                Long blogId = blogIds.get(i % blogIds.size());
+                serialize(summaries);
+                serialize(postService.getPostsPage(blogId, null, PAGE_SIZE));
+                postService.getPostsVersion(blogId);
+                blogService.getBlogVersion(blogId);
+                if (!postIds.isEmpty()) {
+                    postService.getPostVersion(postIds.get(i % postIds.size()));
+                }
+                report.iterations++;
+            }
+            return report.build("completed", start);
+        } catch (Exception e) {
+            log.warn("Warm-up failed, reporting ready anyway", e);
+            return report.build("failed", start);
+        }
+    }
+
+    /**
+     * No request log survives a restart, so blogs are ranked by recent posting activity as the
+     * best stored proxy for what readers are fetching.
+     */
+    private List<Long> mostActive(List<BlogSummaryDTO> summaries) {
+        return summaries.stream()
+                .sorted(Comparator.comparing(BlogSummaryDTO::getLatestPostAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(BlogSummaryDTO::getPostCount, Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(topBlogs)
+                .map(BlogSummaryDTO::getId)
+                .toList();
+    }
+
+    private List<Long> prefill(Long blogId) {
+        blogService.getBlogById(blogId).ifPresent(this::serialize);
+        PostPageDTO page = postService.getPostsPage(blogId, null, PAGE_SIZE);
+        List<Long> postIds = new ArrayList<>();
+        for (PostDTO post : page.getPosts()) {
+            Optional<ResourceVersion> version = postService.getPostVersion(post.getId());
+            if (version.isPresent()) {
+                responseBodyCache.getPost(post.getId(), version.get().etag(), () -> postService.getPostById(post.getId()));
+                postIds.add(post.getId());
+            }
+        }
+        return postIds;
+    }
+
+    private void serialize(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * Hikari fills the pool to its minimum in the background; holding that many connections at
+     * once makes the pool open them now instead of on the first requests.
+     */
+    private int openMinimumIdle() throws SQLException {
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            return 0;
+        }
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        List<Connection> connections = new ArrayList<>();
+        try {
+            for (int i = 0; i < pool.getMinimumIdle(); i++) {
+                connections.add(pool.getConnection());
+            }
+            return connections.size();
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    record Report(String outcome, long durationMillis, int connections, int blogs, int posts, int iterations) {
+
+        private static final class Builder {
+            private int connections;
+            private int blogs;
+            private int posts;
+            private int iterations;
+
+            private Report build(String outcome, long startNanos) {
+                long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                return new Report(outcome, millis, connections, blogs, posts, iterations);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+-- H2 counterpart of the Postgres baseline, used by the test profile. Content is a VARCHAR here
+-- because H2 maps TEXT to CLOB, which Hibernate's schema validation rejects for a String.
+CREATE SEQUENCE blogs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE posts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE blogs (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT blogs_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_blogs_name UNIQUE (name)
+);
+
+CREATE TABLE posts (
+    id         BIGINT       NOT NULL,
+    title      VARCHAR(200) NOT NULL,
+    content    VARCHAR(1000000),
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    blog_id    BIGINT       NOT NULL,
+    CONSTRAINT posts_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_posts_blog FOREIGN KEY (blog_id) REFERENCES blogs (id)
+);
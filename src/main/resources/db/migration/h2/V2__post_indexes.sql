@@ -0,0 +1,2 @@
+CREATE INDEX idx_posts_blog_created_id ON posts (blog_id, created_at, id);
+CREATE INDEX idx_posts_blog_updated ON posts (blog_id, updated_at);
@@ -0,0 +1,26 @@
+-- H2 counterpart of the Postgres change log; H2 has no partial indexes, so tombstone purges scan.
+CREATE SEQUENCE change_log_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE change_log (
+    seq         BIGINT       NOT NULL,
+    blog_id     BIGINT       NOT NULL,
+    post_id     BIGINT,
+    change_type VARCHAR(16)  NOT NULL,
+    changed_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT change_log_pkey PRIMARY KEY (seq)
+);
+
+CREATE INDEX idx_change_log_blog_seq ON change_log (blog_id, seq);
+CREATE INDEX idx_change_log_post ON change_log (post_id);
+
+CREATE TABLE change_log_horizon (
+    id             SMALLINT NOT NULL,
+    purged_through BIGINT   NOT NULL,
+    CONSTRAINT change_log_horizon_pkey PRIMARY KEY (id)
+);
+
+INSERT INTO change_log_horizon (id, purged_through) VALUES (1, 0);
+
+INSERT INTO change_log (seq, blog_id, post_id, change_type, changed_at)
+SELECT NEXT VALUE FOR change_log_seq, blog_id, id, 'UPSERT', COALESCE(updated_at, LOCALTIMESTAMP)
+FROM posts;
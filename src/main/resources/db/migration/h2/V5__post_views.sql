@@ -0,0 +1,7 @@
+-- Per-post view counts, written in batches by the in-memory counters. Rows go with their post.
+CREATE TABLE post_views (
+    post_id BIGINT NOT NULL,
+    views   BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT post_views_pkey PRIMARY KEY (post_id),
+    CONSTRAINT fk_post_views_post FOREIGN KEY (post_id) REFERENCES posts (id) ON DELETE CASCADE
+);
@@ -0,0 +1,3 @@
+-- H2 counterpart of the Postgres per-blog append lock. H2 has no advisory locks and serves
+-- single-node tests only, so the function takes no lock and just returns 1 for a blog id.
+CREATE ALIAS lock_change_log FOR 'java.lang.Long.signum';
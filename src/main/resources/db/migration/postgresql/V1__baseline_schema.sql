@@ -0,0 +1,25 @@
+-- Schema as previously created by ddl-auto=update. IF NOT EXISTS lets databases that Hibernate
+-- already built run this migration as a no-op.
+CREATE SEQUENCE IF NOT EXISTS blogs_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS posts_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS blogs (
+    id          BIGINT       NOT NULL,
+    name        VARCHAR(100) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    CONSTRAINT blogs_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_blogs_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS posts (
+    id         BIGINT       NOT NULL,
+    title      VARCHAR(200) NOT NULL,
+    content    TEXT,
+    created_at TIMESTAMP(6),
+    updated_at TIMESTAMP(6),
+    blog_id    BIGINT       NOT NULL,
+    CONSTRAINT posts_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_posts_blog FOREIGN KEY (blog_id) REFERENCES blogs (id)
+);
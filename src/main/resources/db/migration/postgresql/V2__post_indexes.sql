@@ -0,0 +1,7 @@
+-- Built concurrently so existing deployments keep accepting writes while the indexes build.
+
+-- findByBlogId, the keyset pages and the per-blog export all scan (blog_id, created_at, id).
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_blog_created_id ON posts (blog_id, created_at, id);
+
+-- Lets the per-blog MAX(updated_at)/COUNT behind the collection ETags run as an index-only scan.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_blog_updated ON posts (blog_id, updated_at);
@@ -0,0 +1,2 @@
+-- The cross-blog feed walks all posts newest first once it runs past the in-memory head.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_posts_created_id ON posts (created_at, id);
@@ -0,0 +1,32 @@
+-- Change log behind GET /api/v1/blogs/{id}/changes: the latest upsert of every live post plus
+-- deletion tombstones, ordered by a sequence. Writers draw values only while holding the lock on
+-- the change_log_horizon row, so they commit in sequence order.
+CREATE SEQUENCE change_log_seq START WITH 1 INCREMENT BY 1 NO CYCLE;
+
+CREATE TABLE change_log (
+    seq         BIGINT       NOT NULL,
+    blog_id     BIGINT       NOT NULL,
+    post_id     BIGINT,
+    change_type VARCHAR(16)  NOT NULL,
+    changed_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT change_log_pkey PRIMARY KEY (seq)
+);
+
+CREATE INDEX idx_change_log_blog_seq ON change_log (blog_id, seq);
+CREATE INDEX idx_change_log_post ON change_log (post_id);
+CREATE INDEX idx_change_log_tombstones ON change_log (changed_at) WHERE change_type <> 'UPSERT';
+
+-- Highest sequence whose tombstones may have been purged; older cursors must resync. Its single
+-- row doubles as the append lock.
+CREATE TABLE change_log_horizon (
+    id             SMALLINT NOT NULL,
+    purged_through BIGINT   NOT NULL,
+    CONSTRAINT change_log_horizon_pkey PRIMARY KEY (id)
+);
+
+INSERT INTO change_log_horizon (id, purged_through) VALUES (1, 0);
+
+-- Existing posts enter the log as upserts, so a client starting from 0 receives every post.
+INSERT INTO change_log (seq, blog_id, post_id, change_type, changed_at)
+SELECT nextval('change_log_seq'), blog_id, id, 'UPSERT', COALESCE(updated_at, LOCALTIMESTAMP)
+FROM posts;
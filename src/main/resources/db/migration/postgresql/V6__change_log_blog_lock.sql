@@ -0,0 +1,11 @@
+-- Change log appends lock their blogs instead of the change_log_horizon row, so writes to
+-- different blogs no longer commit one at a time. Sequence values still commit in order per blog,
+-- which is all a reader of one blog's changes needs. The horizon row now guards purges only.
+-- A transaction-level advisory lock keyed on the blog id, released at commit or rollback.
+CREATE FUNCTION lock_change_log(blog BIGINT) RETURNS INTEGER
+LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM pg_advisory_xact_lock(blog);
+    RETURN 1;
+END
+$$;
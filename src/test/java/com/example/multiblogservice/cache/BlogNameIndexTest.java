@@ -0,0 +1,121 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.repository.BlogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Blog Name Index Tests")
+public class BlogNameIndexTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BlogNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        index = new BlogNameIndex(blogRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("slugs should be lower-case ASCII words joined by single hyphens")
+    void whenSlugging_thenNormalized() {
+        assertEquals("my-travel-blog", BlogNameIndex.slug("My Travel Blog"));
+        assertEquals("notes-essays", BlogNameIndex.slug("  Notes & Essays! "));
+        assertEquals("cafe-noir", BlogNameIndex.slug("Caf\u00e9 N\u00f6ir"));
+        assertEquals("", BlogNameIndex.slug("!!!"));
+    }
+
+    @Test
+    @DisplayName("a blog should resolve by its exact name and by its slug after startup")
+    void whenStarted_thenNamesAndSlugsResolve() {
+        when(blogRepository.findAllNames()).thenReturn(List.of(name(1L, "My Travel Blog"), name(2L, "Recipes")));
+
+        index.start();
+
+        assertEquals(Optional.of(1L), index.resolve("My Travel Blog"));
+        assertEquals(Optional.of(1L), index.resolve("my-travel-blog"));
+        assertEquals(Optional.of(2L), index.resolve("RECIPES"));
+        assertTrue(index.resolve("unknown").isEmpty());
+        assertTrue(index.resolve(null).isEmpty());
+        assertTrue(index.isRunning());
+    }
+
+    @Test
+    @DisplayName("a slug shared by two names should stay with the older blog, each name still resolving exactly")
+    void whenSlugsCollide_thenLowestIdWinsSlug() {
+        when(blogRepository.findAllNames()).thenReturn(List.of(name(7L, "C++"), name(3L, "C")));
+
+        index.start();
+
+        assertEquals(Optional.of(7L), index.resolve("C++"));
+        assertEquals(Optional.of(3L), index.resolve("C"));
+        assertEquals(Optional.of(3L), index.resolve("c"));
+    }
+
+    @Test
+    @DisplayName("a name without a slug should still resolve by its exact name")
+    void whenNameHasNoSlug_thenResolvesExactly() {
+        when(blogRepository.findAllNames()).thenReturn(List.of(
+                name(1L, "\u0411\u043b\u043e\u0433"), name(2L, "\u65e5\u8a18")));
+
+        index.start();
+
+        assertEquals("", BlogNameIndex.slug("\u65e5\u8a18"));
+        assertEquals(Optional.of(1L), index.resolve("\u0411\u043b\u043e\u0433"));
+        assertEquals(Optional.of(2L), index.resolve("\u65e5\u8a18"));
+        assertTrue(index.resolve("").isEmpty());
+    }
+
+    @Test
+    @DisplayName("created, renamed and deleted blogs should be reflected without a full reload")
+    void whenBlogChanges_thenIndexFollows() {
+        when(blogRepository.findNameById(5L)).thenReturn(Optional.of("Old Name"), Optional.of("New Name"));
+
+        index.onBlogChanged(new BlogChangedEvent(5L, ChangeType.CREATED));
+        assertEquals(Optional.of(5L), index.resolve("old-name"));
+
+        index.onBlogChanged(new BlogChangedEvent(5L, ChangeType.UPDATED));
+        assertTrue(index.resolve("old-name").isEmpty());
+        assertEquals(Optional.of(5L), index.resolve("new-name"));
+
+        index.onBlogChanged(new BlogChangedEvent(5L, ChangeType.DELETED));
+        assertTrue(index.resolve("new-name").isEmpty());
+        assertEquals(0, index.size());
+        verify(blogRepository, never()).findAllNames();
+    }
+
+    private static BlogRepository.BlogName name(Long id, String name) {
+        return new BlogRepository.BlogName() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
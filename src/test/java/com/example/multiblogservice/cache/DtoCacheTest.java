@@ -0,0 +1,108 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DTO Cache Tests")
+public class DtoCacheTest {
+
+    private DtoCache dtoCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        dtoCache = new DtoCache(1, 1, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("missing entities should not be cached")
+    void whenLoaderReturnsEmpty_thenNothingIsCached() {
+        assertTrue(dtoCache.getPost(1L, this::loadNothing).isEmpty());
+        assertTrue(dtoCache.getPost(1L, this::loadNothing).isEmpty());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("a post change should evict the post and its blog")
+    void whenPostChanged_thenPostAndBlogAreEvicted() {
+        dtoCache.getPost(10L, () -> loadPost(10L, 1L));
+        dtoCache.getBlog(1L, () -> loadBlog(1L));
+
+        dtoCache.onPostChanged(new PostChangedEvent(1L, 10L, ChangeType.UPDATED));
+        dtoCache.getPost(10L, () -> loadPost(10L, 1L));
+        dtoCache.getBlog(1L, () -> loadBlog(1L));
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("deleting a blog should evict every cached post of that blog only")
+    void whenBlogDeleted_thenItsPostsAreEvicted() {
+        dtoCache.getPost(10L, () -> loadPost(10L, 1L));
+        dtoCache.getPost(20L, () -> loadPost(20L, 2L));
+
+        dtoCache.onBlogChanged(new BlogChangedEvent(1L, ChangeType.DELETED));
+
+        assertTrue(dtoCache.peekPost(10L).isEmpty());
+        assertTrue(dtoCache.peekPost(20L).isPresent());
+    }
+
+    @Test
+    @DisplayName("entries heavier than the weight bound should be evicted")
+    void whenEntriesExceedWeight_thenCacheStaysBounded() {
+        String content = "x".repeat(300_000);
+        for (long id = 1; id <= 10; id++) {
+            long postId = id;
+            dtoCache.getPost(postId, () -> {
+                PostDTO post = new PostDTO();
+                post.setId(postId);
+                post.setContent(content);
+                return Optional.of(post);
+            });
+        }
+
+        dtoCache.cleanUp();
+
+        long cached = LongStream.rangeClosed(1, 10)
+                .filter(id -> dtoCache.peekPost(id).isPresent())
+                .count();
+        assertTrue(cached <= 2, "expected at most two 600 KB entries in a 1 MB cache but found " + cached);
+    }
+
+    private Optional<PostDTO> loadNothing() {
+        loads.incrementAndGet();
+        return Optional.empty();
+    }
+
+    private Optional<PostDTO> loadPost(Long id, Long blogId) {
+        loads.incrementAndGet();
+        PostDTO post = new PostDTO();
+        post.setId(id);
+        post.setBlogId(blogId);
+        return Optional.of(post);
+    }
+
+    private Optional<BlogDTO> loadBlog(Long id) {
+        loads.incrementAndGet();
+        BlogDTO blog = new BlogDTO();
+        blog.setId(id);
+        blog.setPosts(List.of());
+        return Optional.of(blog);
+    }
+}
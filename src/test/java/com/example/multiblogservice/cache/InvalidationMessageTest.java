@@ -0,0 +1,116 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Invalidation Message Tests")
+public class InvalidationMessageTest {
+
+    @Test
+    @DisplayName("a post change should survive a round trip through the payload")
+    void whenPostChangeEncoded_thenDecodesToSameEvent() {
+        PostChangedEvent event = new PostChangedEvent(3L, 42L, ChangeType.UPDATED);
+
+        List<String> payloads = InvalidationMessage.toPayloads(List.of(InvalidationMessage.of("node-a", event)));
+        List<InvalidationMessage> decoded = InvalidationMessage.parse(payloads.get(0));
+
+        assertEquals(1, payloads.size());
+        assertEquals(1, decoded.size());
+        assertEquals("node-a", decoded.get(0).nodeId());
+        assertEquals(Optional.of(event), decoded.get(0).toEvent());
+    }
+
+    @Test
+    @DisplayName("a blog change should survive a round trip through the payload")
+    void whenBlogChangeEncoded_thenDecodesToSameEvent() {
+        BlogChangedEvent event = new BlogChangedEvent(7L, ChangeType.DELETED);
+
+        List<InvalidationMessage> decoded = InvalidationMessage.parse(
+                InvalidationMessage.toPayloads(List.of(InvalidationMessage.of("node-b", event))).get(0));
+
+        assertEquals(1, decoded.size());
+        assertEquals(Optional.of(event), decoded.get(0).toEvent());
+    }
+
+    @Test
+    @DisplayName("a transaction's changes should be sent as one payload per blog, in order")
+    void whenChangesSpanBlogs_thenOnePayloadPerBlog() {
+        List<Object> events = List.of(
+                new PostChangedEvent(1L, 10L, ChangeType.CREATED),
+                new PostChangedEvent(2L, 20L, ChangeType.UPDATED),
+                new BlogChangedEvent(1L, ChangeType.UPDATED),
+                new PostChangedEvent(1L, 11L, ChangeType.DELETED));
+
+        List<String> payloads = InvalidationMessage.toPayloads(messages("node-a", events));
+
+        assertEquals(2, payloads.size());
+        assertEquals(List.of(events.get(0), events.get(2), events.get(3)), decode(payloads.get(0)));
+        assertEquals(List.of(events.get(1)), decode(payloads.get(1)));
+    }
+
+    @Test
+    @DisplayName("a bulk write should be split into payloads that stay under the Postgres limit")
+    void whenChangesOutgrowPayload_thenSplitUnderLimit() {
+        List<Object> events = new ArrayList<>();
+        for (long postId = 1_000_000; postId < 1_002_000; postId++) {
+            events.add(new PostChangedEvent(5L, postId, ChangeType.CREATED));
+        }
+
+        List<String> payloads = InvalidationMessage.toPayloads(messages("node-a", events));
+
+        assertTrue(payloads.size() > 1);
+        List<Object> decoded = new ArrayList<>();
+        for (String payload : payloads) {
+            assertTrue(payload.getBytes(StandardCharsets.UTF_8).length <= InvalidationMessage.MAX_PAYLOAD_BYTES);
+            decoded.addAll(decode(payload));
+        }
+        assertEquals(events, decoded);
+    }
+
+    @Test
+    @DisplayName("single-change payloads of the previous format should still be read")
+    void whenLegacyPayload_thenDecoded() {
+        List<InvalidationMessage> decoded = InvalidationMessage.parse("node-c|post|UPDATED|3|42");
+
+        assertEquals(1, decoded.size());
+        assertEquals(Optional.of(new PostChangedEvent(3L, 42L, ChangeType.UPDATED)), decoded.get(0).toEvent());
+    }
+
+    @Test
+    @DisplayName("malformed payloads should be ignored")
+    void whenPayloadMalformed_thenParseReturnsEmpty() {
+        assertTrue(InvalidationMessage.parse("garbage").isEmpty());
+        assertTrue(InvalidationMessage.parse("node|post|EXPLODED|1|2").isEmpty());
+        assertTrue(InvalidationMessage.parse("node|post|UPDATED|one|2").isEmpty());
+        assertTrue(InvalidationMessage.parse("node|1|post:UPDATED:2,post").isEmpty());
+        assertTrue(InvalidationMessage.parse("node|1|").isEmpty());
+    }
+
+    private static List<InvalidationMessage> messages(String nodeId, List<Object> events) {
+        List<InvalidationMessage> messages = new ArrayList<>();
+        for (Object event : events) {
+            messages.add(event instanceof PostChangedEvent post
+                    ? InvalidationMessage.of(nodeId, post)
+                    : InvalidationMessage.of(nodeId, (BlogChangedEvent) event));
+        }
+        return messages;
+    }
+
+    private static List<Object> decode(String payload) {
+        List<Object> events = new ArrayList<>();
+        for (InvalidationMessage message : InvalidationMessage.parse(payload)) {
+            events.add(message.toEvent().orElseThrow());
+        }
+        return events;
+    }
+}
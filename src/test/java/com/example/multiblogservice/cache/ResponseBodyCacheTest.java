@@ -0,0 +1,133 @@
+package com.example.multiblogservice.cache;
+
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Response Body Cache Tests")
+public class ResponseBodyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private ResponseBodyCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(objectMapper, 1, Duration.ofMinutes(1), 512, 5);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("a repeat read of the same version should not load or serialize again")
+    void whenSameEtag_thenServedFromCache() {
+        ResponseBodyCache.EncodedBody first = cache.getPost(1L, "\"v1\"", () -> load(1L, 2000)).orElseThrow();
+        ResponseBodyCache.EncodedBody second = cache.getPost(1L, "\"v1\"", () -> load(1L, 2000)).orElseThrow();
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("a new version should replace the stored bytes")
+    void whenEtagChanges_thenReloaded() {
+        cache.getPost(1L, "\"v1\"", () -> load(1L, 2000));
+        cache.getPost(1L, "\"v2\"", () -> load(1L, 2000));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("missing posts should not be cached")
+    void whenLoaderReturnsEmpty_thenNothingIsCached() {
+        assertTrue(cache.getPost(1L, "\"v1\"", Optional::empty).isEmpty());
+        cache.getPost(1L, "\"v1\"", () -> load(1L, 10));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("the gzip variant should inflate to the identity bytes")
+    void whenCompressed_thenGzipRoundTrips() throws IOException {
+        ResponseBodyCache.EncodedBody body = cache.getPost(1L, "\"v1\"", () -> load(1L, 2000)).orElseThrow();
+
+        assertNotNull(body.gzip());
+        assertTrue(body.gzip().length < body.identity().length);
+        byte[] inflated = new GZIPInputStream(new ByteArrayInputStream(body.gzip())).readAllBytes();
+        assertArrayEquals(body.identity(), inflated);
+        assertEquals(1L, objectMapper.readValue(body.identity(), PostDTO.class).getId());
+    }
+
+    @Test
+    @DisplayName("small bodies should be stored uncompressed only")
+    void whenBodyIsSmall_thenNoCompressedVariants() {
+        ResponseBodyCache.EncodedBody body = cache.getPost(1L, "\"v1\"", () -> load(1L, 10)).orElseThrow();
+
+        assertNull(body.gzip());
+        assertNull(body.brotli());
+        assertNull(body.select("br, gzip").contentEncoding());
+    }
+
+    @Test
+    @DisplayName("the preferred accepted encoding should be selected")
+    void whenSelectingVariant_thenAcceptEncodingIsHonoured() {
+        ResponseBodyCache.EncodedBody body = new ResponseBodyCache.EncodedBody(
+                "\"v1\"", 1L, new byte[]{1}, new byte[]{2}, new byte[]{3});
+
+        assertEquals("br", body.select("gzip, deflate, br").contentEncoding());
+        assertEquals("gzip", body.select("gzip;q=0.8, br;q=0").contentEncoding());
+        assertEquals("gzip", body.select("GZIP").contentEncoding());
+        assertEquals("br", body.select("*").contentEncoding());
+        assertEquals("gzip", body.select("br;q=0, *").contentEncoding());
+        assertNull(body.select("identity").contentEncoding());
+        assertNull(body.select(null).contentEncoding());
+    }
+
+    @Test
+    @DisplayName("brotli should be used when the native library loads")
+    void whenBrotliAvailable_thenBrotliVariantIsStored() {
+        ResponseBodyCache.EncodedBody body = cache.getPost(1L, "\"v1\"", () -> load(1L, 2000)).orElseThrow();
+
+        assertEquals(cache.isBrotliAvailable(), body.brotli() != null);
+    }
+
+    @Test
+    @DisplayName("post and blog changes should evict stored bodies")
+    void whenChanged_thenEvicted() {
+        cache.getPost(1L, "\"v1\"", () -> load(1L, 10));
+        cache.getPost(2L, "\"v1\"", () -> load(2L, 10));
+
+        cache.onPostChanged(new PostChangedEvent(1L, 1L, ChangeType.UPDATED));
+        cache.getPost(1L, "\"v1\"", () -> load(1L, 10));
+        assertEquals(3, loads.get());
+
+        cache.onBlogChanged(new BlogChangedEvent(1L, ChangeType.DELETED));
+        cache.getPost(2L, "\"v1\"", () -> load(2L, 10));
+        assertEquals(4, loads.get());
+    }
+
+    private Optional<PostDTO> load(Long id, int contentLength) {
+        loads.incrementAndGet();
+        PostDTO post = new PostDTO();
+        post.setId(id);
+        post.setBlogId(1L);
+        post.setTitle("Post " + id);
+        post.setContent("a quick brown fox ".repeat(contentLength / 18 + 1).substring(0, contentLength));
+        return Optional.of(post);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.multiblogservice.config;
+
+import io.micrometer.common.KeyValue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Blog Bucket Observation Convention Tests")
+public class BlogBucketObservationConventionTest {
+
+    private final BlogBucketObservationConvention convention = new BlogBucketObservationConvention(16);
+
+    @Test
+    @DisplayName("the blogId variable should be folded into a bucket")
+    void whenPostRoute_thenBucketFromBlogId() {
+        assertEquals("3", bucket("/api/v1/blogs/{blogId}/posts/{id}", Map.of("blogId", "35", "id", "7")));
+    }
+
+    @Test
+    @DisplayName("on the blog route the id variable is the blog")
+    void whenBlogRoute_thenBucketFromId() {
+        assertEquals("2", bucket("/api/v1/blogs/{id}", Map.of("id", "18")));
+    }
+
+    @Test
+    @DisplayName("routes without a blog should be tagged none")
+    void whenNoBlog_thenNone() {
+        assertEquals("none", bucket("/api/v1/blogs", Map.of()));
+    }
+
+    @Test
+    @DisplayName("a non-numeric blog id should be tagged invalid")
+    void whenNotNumeric_thenInvalid() {
+        assertEquals("invalid", bucket("/api/v1/blogs/{id}", Map.of("id", "abc")));
+    }
+
+    private String bucket(String pattern, Map<String, String> variables) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+        ServerRequestObservationContext context = new ServerRequestObservationContext(request, new MockHttpServletResponse());
+        context.setPathPattern(pattern);
+        return convention.getLowCardinalityKeyValues(context).stream()
+                .filter(keyValue -> keyValue.getKey().equals(BlogBucketObservationConvention.BLOG_BUCKET))
+                .map(KeyValue::getValue)
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.multiblogservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Gated DataSource Tests")
+public class GatedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private GatedDataSource gatedDataSource;
+
+    @BeforeEach
+    void setUp() {
+        gatedDataSource = new GatedDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("closing a connection should return its permit exactly once")
+    void whenConnectionClosedTwice_thenPermitReleasedOnce() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+
+        Connection first = gatedDataSource.getConnection();
+        assertEquals(1, gatedDataSource.getAvailablePermits());
+
+        first.close();
+        first.close();
+
+        assertEquals(2, gatedDataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("getConnection should time out when every permit is held")
+    void whenPermitsExhausted_thenTimeOut() throws SQLException {
+        when(target.getConnection()).thenReturn(connection);
+        gatedDataSource.getConnection();
+        gatedDataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, () -> gatedDataSource.getConnection());
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("a failure in the pool should not leak the permit")
+    void whenTargetFails_thenPermitIsReturned() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, () -> gatedDataSource.getConnection());
+
+        assertEquals(2, gatedDataSource.getAvailablePermits());
+    }
+}
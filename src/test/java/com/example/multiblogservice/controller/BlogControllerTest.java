@@ -1,8 +1,12 @@
 package com.example.multiblogservice.controller;
 
 import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.BlogSummaryDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
 import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.dto.PostPageDTO;
 import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,10 +17,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -31,6 +38,9 @@ public class BlogControllerTest {
     @MockBean
     private BlogService blogService;
 
+    @MockBean
+    private PostService postService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -45,15 +55,35 @@ public class BlogControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/v1/blogs should return all blogs")
+    @DisplayName("GET /api/v1/blogs should return blog summaries without posts")
     void whenGetAllBlogs_thenReturnJsonArray() throws Exception {
-        when(blogService.getAllBlogs()).thenReturn(Arrays.asList(testBlogDTO));
+        BlogSummaryDTO summary = new BlogSummaryDTO(1L, "Test Blog", "Test Description",
+                LocalDateTime.now(), LocalDateTime.now(), 2L, LocalDateTime.now());
+        when(blogService.getAllBlogSummaries()).thenReturn(List.of(summary));
 
         mockMvc.perform(get("/api/v1/blogs"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].name").value("Test Blog"))
+                .andExpect(jsonPath("$[0].description").value("Test Description"))
+                .andExpect(jsonPath("$[0].postCount").value(2))
+                .andExpect(jsonPath("$[0].posts").doesNotExist());
+
+        verify(blogService, never()).getAllBlogs();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs?includePosts=true should return blogs with their posts")
+    void whenGetAllBlogsWithPosts_thenReturnJsonArray() throws Exception {
+        when(blogService.getAllBlogs()).thenReturn(Arrays.asList(testBlogDTO));
+
+        mockMvc.perform(get("/api/v1/blogs").param("includePosts", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].name").value("Test Blog"))
                 .andExpect(jsonPath("$[0].description").value("Test Description"));
+
+        verify(blogService, never()).getAllBlogSummaries();
     }
 
     @Test
@@ -68,6 +98,44 @@ public class BlogControllerTest {
                 .andExpect(jsonPath("$.description").value("Test Description"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/blogs/{id} should return 304 without loading the blog when the ETag matches")
+    void whenGetBlogByIdWithMatchingEtag_thenReturn304() throws Exception {
+        ResourceVersion version = ResourceVersion.etagOnly("b", 1L, LocalDateTime.of(2024, 5, 1, 12, 0), 2L);
+        when(blogService.getBlogVersion(1L)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/api/v1/blogs/1").header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(blogService, never()).getBlogById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{id} should ignore If-Modified-Since, which cannot see deleted posts")
+    void whenGetBlogByIdWithOnlyIfModifiedSince_thenReturnJsonWithoutLastModified() throws Exception {
+        ResourceVersion version = ResourceVersion.etagOnly("b", 1L, LocalDateTime.of(2024, 5, 1, 12, 0), 2L);
+        when(blogService.getBlogVersion(1L)).thenReturn(Optional.of(version));
+        when(blogService.getBlogById(1L)).thenReturn(Optional.of(testBlogDTO));
+
+        mockMvc.perform(get("/api/v1/blogs/1").header("If-Modified-Since", "Thu, 02 May 2024 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.etag()))
+                .andExpect(header().doesNotExist("Last-Modified"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{id} should return the blog when the ETag no longer matches")
+    void whenGetBlogByIdWithStaleEtag_thenReturnJson() throws Exception {
+        ResourceVersion version = ResourceVersion.etagOnly("b", 1L, LocalDateTime.of(2024, 5, 1, 12, 0), 2L);
+        when(blogService.getBlogVersion(1L)).thenReturn(Optional.of(version));
+        when(blogService.getBlogById(1L)).thenReturn(Optional.of(testBlogDTO));
+
+        mockMvc.perform(get("/api/v1/blogs/1").header("If-None-Match", "\"b1-0-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.etag()))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
     @Test
     @DisplayName("GET /api/v1/blogs/{id} should return 404 when blog doesn't exist")
     void whenGetNonExistentBlogById_thenReturn404() throws Exception {
@@ -77,6 +145,45 @@ public class BlogControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/blogs/by-slug/{slug} should resolve the slug and return the blog")
+    void whenGetBlogBySlug_thenReturnJson() throws Exception {
+        when(blogService.resolveBlogId("test-blog")).thenReturn(Optional.of(1L));
+        when(blogService.getBlogById(1L)).thenReturn(Optional.of(testBlogDTO));
+
+        mockMvc.perform(get("/api/v1/blogs/by-slug/test-blog"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.name").value("Test Blog"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/by-slug/{slug} should return 404 for an unknown slug")
+    void whenGetBlogByUnknownSlug_thenReturn404() throws Exception {
+        when(blogService.resolveBlogId("nope")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/blogs/by-slug/nope"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Blog not found with slug nope"));
+
+        verify(blogService, never()).getBlogById(anyLong());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/by-slug/{slug}/posts should return the blog's first page of posts")
+    void whenGetPostsBySlug_thenReturnPage() throws Exception {
+        PostPageDTO page = new PostPageDTO();
+        page.setPosts(List.of());
+        page.setLimit(20);
+        when(blogService.resolveBlogId("test-blog")).thenReturn(Optional.of(1L));
+        when(postService.getPostsVersion(1L)).thenReturn(Optional.empty());
+        when(postService.getPostsPage(1L, null, 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/blogs/by-slug/test-blog/posts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.limit").value(20));
+    }
+
     @Test
     @DisplayName("POST /api/v1/blogs should create a new blog and return it")
     void whenCreateBlog_thenReturnJsonAndStatus201() throws Exception {
@@ -0,0 +1,140 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.cache.NodeIdentity;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.stream.ChangeStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ChangeStreamController.class)
+@Import({ChangeStream.class, NodeIdentity.class})
+@DisplayName("Change Stream Controller Tests")
+public class ChangeStreamControllerTest {
+
+    private static final Pattern EVENT_ID = Pattern.compile("id:(\\S+)");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeStream changeStream;
+
+    @MockBean
+    private BlogRepository blogRepository;
+
+    @Test
+    @DisplayName("a blog stream should receive that blog's committed changes only")
+    void whenSubscribedToBlog_thenReceiveItsChanges() throws Exception {
+        when(blogRepository.existsById(1L)).thenReturn(true);
+        MvcResult result = mockMvc.perform(get("/api/v1/blogs/1/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andReturn();
+
+        changeStream.onPostChanged(new PostChangedEvent(2L, 60L, ChangeType.CREATED));
+        changeStream.onPostChanged(new PostChangedEvent(1L, 50L, ChangeType.CREATED));
+        changeStream.onBlogChanged(new BlogChangedEvent(1L, ChangeType.UPDATED));
+
+        String body = awaitContent(result, content -> content.contains("event:blog"));
+        assertTrue(body.contains("event:post"));
+        assertTrue(body.contains("\"postId\":50"));
+        assertTrue(body.contains("\"change\":\"CREATED\""));
+        assertFalse(body.contains("\"postId\":60"));
+    }
+
+    @Test
+    @DisplayName("a reconnect with Last-Event-ID should replay the changes it missed")
+    void whenResuming_thenMissedChangesReplayed() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/v1/events")).andExpect(request().asyncStarted()).andReturn();
+        changeStream.onPostChanged(new PostChangedEvent(3L, 70L, ChangeType.CREATED));
+        Matcher id = EVENT_ID.matcher(awaitContent(first, content -> content.contains("\"postId\":70")));
+        assertTrue(id.find());
+
+        changeStream.onPostChanged(new PostChangedEvent(3L, 71L, ChangeType.UPDATED));
+        changeStream.onPostChanged(new PostChangedEvent(3L, 72L, ChangeType.DELETED));
+        MvcResult resumed = mockMvc.perform(get("/api/v1/events").header("Last-Event-ID", id.group(1)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = awaitContent(resumed, content -> content.contains("\"postId\":72"));
+        assertTrue(body.contains("\"postId\":71"));
+        assertFalse(body.contains("\"postId\":70"));
+    }
+
+    @Test
+    @DisplayName("a Last-Event-ID this node cannot resume from should get a reset event")
+    void whenResumeIdUnknown_thenReset() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/events").header("Last-Event-ID", "elsewhere-42"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(awaitContent(result, content -> content.contains("event:reset")).contains("event:reset"));
+    }
+
+    @Test
+    @DisplayName("a commit changing many posts of a blog should be pushed as one posts event")
+    void whenBulkCommit_thenOnePostsEvent() throws Exception {
+        when(blogRepository.existsById(4L)).thenReturn(true);
+        MvcResult result = mockMvc.perform(get("/api/v1/blogs/4/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (long postId = 1; postId <= 150; postId++) {
+                changeStream.onPostChanged(new PostChangedEvent(4L, 1_000 + postId, ChangeType.CREATED));
+            }
+            changeStream.onBlogChanged(new BlogChangedEvent(4L, ChangeType.UPDATED));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        String body = awaitContent(result, content -> content.contains("event:blog"));
+        assertEquals(1, body.split("event:posts", -1).length - 1);
+        assertFalse(body.contains("event:post\n"));
+        assertTrue(body.indexOf("event:posts") < body.indexOf("event:blog"));
+    }
+
+    @Test
+    @DisplayName("an unknown blog should return 404")
+    void whenBlogMissing_thenReturn404() throws Exception {
+        when(blogRepository.existsById(99L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/blogs/99/events"))
+                .andExpect(status().isNotFound());
+    }
+
+    // Events are written by the subscriber's sender thread, shortly after publishing.
+    private static String awaitContent(MvcResult result, Predicate<String> condition) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = result.getResponse().getContentAsString();
+        while (!condition.test(content) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.FeedItemDTO;
+import com.example.multiblogservice.dto.FeedPageDTO;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.service.FeedService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FeedController.class)
+@DisplayName("Feed Controller Tests")
+public class FeedControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FeedService feedService;
+
+    @Test
+    @DisplayName("GET /api/v1/feed should return the newest posts with a next cursor")
+    void whenGetFeed_thenReturnPage() throws Exception {
+        FeedPageDTO page = new FeedPageDTO();
+        page.setItems(List.of(new FeedItemDTO(7L, 2L, "Newest", LocalDateTime.of(2024, 5, 1, 12, 0), null)));
+        page.setLimit(1);
+        page.setNext("abc");
+        when(feedService.getFeed(isNull(), isNull(), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/feed").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(7))
+                .andExpect(jsonPath("$.items[0].blogId").value(2))
+                .andExpect(jsonPath("$.next").value("abc"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/feed should pass a comma-separated blog subset and the cursor through")
+    void whenGetFeedForBlogs_thenBlogIdsAndCursorPassed() throws Exception {
+        FeedPageDTO page = new FeedPageDTO();
+        page.setItems(List.of());
+        page.setLimit(20);
+        when(feedService.getFeed(List.of(1L, 3L), "abc", 20)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/feed").param("blogIds", "1,3").param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/feed should return 400 for an invalid cursor")
+    void whenInvalidCursor_thenReturn400() throws Exception {
+        when(feedService.getFeed(any(), eq("bad"), anyInt())).thenThrow(new BadRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/feed").param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.multiblogservice.controller;
 
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.dto.BulkIngestResultDTO;
 import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
+import com.example.multiblogservice.exception.BadRequestException;
 import com.example.multiblogservice.exception.ResourceNotFoundException;
 import com.example.multiblogservice.model.Post;
 import com.example.multiblogservice.service.PostService;
 import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostExportService;
+import com.example.multiblogservice.service.PostIngestService;
 import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.views.PostViewCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,18 +21,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
-import java.util.Arrays;
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PostController.class)
+@Import(ResponseBodyCache.class)
 @DisplayName("Post Controller Tests")
 public class PostControllerTest {
 
@@ -40,6 +57,15 @@ public class PostControllerTest {
     @MockBean
     private BlogRepository blogRepository;
 
+    @MockBean
+    private PostIngestService postIngestService;
+
+    @MockBean
+    private PostExportService postExportService;
+
+    @MockBean
+    private PostViewCounter postViewCounter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -54,15 +80,45 @@ public class PostControllerTest {
     }
 
     @Test
-    @DisplayName("GET /api/v1/blogs/{blogId}/posts should return all posts for a blog")
-    void whenGetAllPostsByBlogId_thenReturnJsonArray() throws Exception {
-        when(postService.getAllPostsByBlogId(1L)).thenReturn(Arrays.asList(testPostDTO));
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts should return the first page of posts for a blog")
+    void whenGetPostsByBlogId_thenReturnFirstPage() throws Exception {
+        PostPageDTO page = new PostPageDTO();
+        page.setPosts(List.of(testPostDTO));
+        page.setLimit(20);
+        page.setNext("next-cursor");
+        when(postService.getPostsPage(1L, null, 20)).thenReturn(page);
 
         mockMvc.perform(get("/api/v1/blogs/1/posts"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("Test Post"))
-                .andExpect(jsonPath("$[0].content").value("Test Content"));
+                .andExpect(jsonPath("$.posts[0].id").value(1))
+                .andExpect(jsonPath("$.posts[0].title").value("Test Post"))
+                .andExpect(jsonPath("$.posts[0].content").value("Test Content"))
+                .andExpect(jsonPath("$.limit").value(20))
+                .andExpect(jsonPath("$.next").value("next-cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts should pass cursor and limit through to the service")
+    void whenGetPostsByBlogIdWithCursor_thenReturnNextPage() throws Exception {
+        PostPageDTO page = new PostPageDTO();
+        page.setPosts(List.of(testPostDTO));
+        page.setLimit(5);
+        when(postService.getPostsPage(1L, "abc", 5)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts").param("cursor", "abc").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.posts[0].id").value(1))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts should return 400 for a malformed cursor")
+    void whenGetPostsByBlogIdWithInvalidCursor_thenReturn400() throws Exception {
+        when(postService.getPostsPage(1L, "bogus", 20)).thenThrow(new BadRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts").param("cursor", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
     }
 
     @Test
@@ -75,6 +131,75 @@ public class PostControllerTest {
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Post"))
                 .andExpect(jsonPath("$.content").value("Test Content"));
+
+        verify(postViewCounter).record(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/{id} should return validators with the post")
+    void whenGetPostById_thenReturnEtagAndLastModified() throws Exception {
+        ResourceVersion version = ResourceVersion.of("p", 1L, LocalDateTime.of(2024, 5, 1, 12, 0));
+        when(postService.getPostVersion(1L)).thenReturn(Optional.of(version));
+        when(postService.getPostById(1L)).thenReturn(Optional.of(testPostDTO));
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", version.etag()))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(jsonPath("$.id").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/{id} should serve pre-compressed bytes to gzip clients")
+    void whenGetPostByIdAcceptingGzip_thenReturnCompressedBody() throws Exception {
+        ResourceVersion version = ResourceVersion.of("p", 7L, LocalDateTime.of(2024, 5, 1, 12, 0));
+        testPostDTO.setId(7L);
+        testPostDTO.setContent("lorem ipsum ".repeat(200));
+        when(postService.getPostVersion(7L)).thenReturn(Optional.of(version));
+        when(postService.getPostById(7L)).thenReturn(Optional.of(testPostDTO));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/blogs/1/posts/7").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andExpect(header().string("ETag", version.etag()))
+                .andReturn();
+
+        byte[] json = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())).readAllBytes();
+        assertThat(objectMapper.readValue(json, PostDTO.class).getContent()).isEqualTo(testPostDTO.getContent());
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.id").value(7));
+
+        verify(postService, times(1)).getPostById(7L);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/{id} should return 304 without loading the post when the ETag matches")
+    void whenGetPostByIdWithMatchingEtag_thenReturn304() throws Exception {
+        ResourceVersion version = ResourceVersion.of("p", 1L, LocalDateTime.of(2024, 5, 1, 12, 0));
+        when(postService.getPostVersion(1L)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts/1").header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(postService, never()).getPostById(anyLong());
+        verify(postViewCounter).record(1L);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts should return 304 when the blog's posts are unchanged")
+    void whenGetPostsByBlogIdWithMatchingEtag_thenReturn304() throws Exception {
+        ResourceVersion version = ResourceVersion.etagOnly("l", 1L, LocalDateTime.of(2024, 5, 1, 12, 0), 3L);
+        when(postService.getPostsVersion(1L)).thenReturn(Optional.of(version));
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts").header("If-None-Match", version.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(postService, never()).getPostsPage(anyLong(), any(), anyInt());
     }
 
     @Test
@@ -85,6 +210,8 @@ public class PostControllerTest {
         mockMvc.perform(get("/api/v1/blogs/1/posts/99"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Post not found with id 99"));
+
+        verify(postViewCounter, never()).record(anyLong());
     }
 
     @Test
@@ -127,7 +254,6 @@ public class PostControllerTest {
     @Test
     @DisplayName("DELETE /api/v1/blogs/{blogId}/posts/{id} should delete a post and return 204 No Content")
     void whenDeletePost_thenStatus204() throws Exception {
-        when(postService.getPostById(1L)).thenReturn(Optional.of(testPostDTO));
         doNothing().when(postService).deletePost(1L);
 
         mockMvc.perform(delete("/api/v1/blogs/1/posts/1"))
@@ -139,13 +265,13 @@ public class PostControllerTest {
     @Test
     @DisplayName("DELETE /api/v1/blogs/{blogId}/posts/{id} should return 404 when post doesn't exist")
     void whenDeleteNonExistentPost_thenStatus404() throws Exception {
-        when(postService.getPostById(99L)).thenReturn(Optional.empty());
+        doThrow(new ResourceNotFoundException("Post not found with id 99")).when(postService).deletePost(99L);
 
         mockMvc.perform(delete("/api/v1/blogs/1/posts/99"))
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Post not found with id 99"));
 
-        verify(postService, never()).deletePost(anyLong());
+        verify(postService, never()).getPostById(anyLong());
     }
 
     @Test
@@ -163,4 +289,57 @@ public class PostControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.message").value("Blog not found with id 99"));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/blogs/{blogId}/posts/bulk should stream NDJSON to the ingest service and return the summary")
+    void whenBulkCreatePosts_thenReturnSummary() throws Exception {
+        BulkIngestResultDTO summary = new BulkIngestResultDTO();
+        summary.setReceived(2);
+        summary.setCreated(1);
+        summary.setFailed(1);
+        summary.getErrors().add(new BulkIngestResultDTO.LineError(2, "title must not be blank"));
+        when(postIngestService.ingest(eq(1L), any())).thenReturn(summary);
+
+        mockMvc.perform(post("/api/v1/blogs/1/posts/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"One\"}\n{\"title\":\"\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("title must not be blank"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/export should stream NDJSON written by the export service")
+    void whenExportPosts_thenStreamNdjson() throws Exception {
+        when(blogRepository.existsById(1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        }).when(postExportService).exportPosts(eq(1L), any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/blogs/1/posts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/export should return 404 when blog doesn't exist")
+    void whenExportPostsForNonExistentBlog_thenReturn404() throws Exception {
+        when(blogRepository.existsById(99L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/blogs/99/posts/export"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Blog not found with id 99"));
+
+        verifyNoInteractions(postExportService);
+    }
 }
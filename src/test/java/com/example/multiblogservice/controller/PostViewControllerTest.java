@@ -0,0 +1,85 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.PostViewsDTO;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.views.PostViewCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PostViewController.class)
+@DisplayName("Post View Controller Tests")
+public class PostViewControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PostViewCounter postViewCounter;
+
+    @MockBean
+    private BlogRepository blogRepository;
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/{id}/views should return the post's view count")
+    void whenGetPostViews_thenReturnCount() throws Exception {
+        when(postViewCounter.getViews(1L, 5L)).thenReturn(Optional.of(new PostViewsDTO(5L, 42L)));
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts/5/views"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.postId").value(5))
+                .andExpect(jsonPath("$.views").value(42));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/{id}/views should return 404 for an unknown post")
+    void whenGetViewsOfUnknownPost_thenReturn404() throws Exception {
+        when(postViewCounter.getViews(1L, 99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/blogs/1/posts/99/views"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/posts/{id}/views should return 404 for a post of another blog")
+    void whenGetViewsOfPostInOtherBlog_thenReturn404() throws Exception {
+        when(postViewCounter.getViews(2L, 5L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/blogs/2/posts/5/views"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/views should return the most viewed posts of the blog")
+    void whenGetMostViewed_thenReturnList() throws Exception {
+        when(blogRepository.existsById(1L)).thenReturn(true);
+        when(postViewCounter.getMostViewed(1L, 3)).thenReturn(List.of(new PostViewsDTO(5L, 42L), new PostViewsDTO(6L, 7L)));
+
+        mockMvc.perform(get("/api/v1/blogs/1/views").param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].postId").value(5))
+                .andExpect(jsonPath("$[1].views").value(7));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{blogId}/views should return 404 for an unknown blog")
+    void whenGetMostViewedOfUnknownBlog_thenReturn404() throws Exception {
+        when(blogRepository.existsById(9L)).thenReturn(false);
+
+        mockMvc.perform(get("/api/v1/blogs/9/views"))
+                .andExpect(status().isNotFound());
+
+        verify(postViewCounter, never()).getMostViewed(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.SearchResultDTO;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.exception.ServiceUnavailableException;
+import com.example.multiblogservice.service.PostSearchService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SearchController.class)
+@DisplayName("Search Controller Tests")
+public class SearchControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PostSearchService postSearchService;
+
+    @Test
+    @DisplayName("GET /api/v1/search should return ranked hits")
+    void whenSearch_thenReturnHits() throws Exception {
+        SearchResultDTO result = new SearchResultDTO();
+        result.setQuery("spring");
+        result.setBlogId(1L);
+        result.setTotal(1);
+        result.getHits().add(new SearchResultDTO.Hit(5L, 1L, "Spring tips", 2.5));
+        when(postSearchService.search("spring", 1L, 10)).thenReturn(result);
+
+        mockMvc.perform(get("/api/v1/search").param("q", "spring").param("blogId", "1").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(1))
+                .andExpect(jsonPath("$.hits[0].postId").value(5))
+                .andExpect(jsonPath("$.hits[0].title").value("Spring tips"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/search should default to all blogs and 20 hits")
+    void whenSearchWithoutOptions_thenDefaults() throws Exception {
+        when(postSearchService.search(eq("java"), isNull(), eq(20))).thenReturn(new SearchResultDTO());
+
+        mockMvc.perform(get("/api/v1/search").param("q", "java"))
+                .andExpect(status().isOk());
+
+        verify(postSearchService).search("java", null, 20);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/search should return 400 for a blank query")
+    void whenBlankQuery_thenStatus400() throws Exception {
+        when(postSearchService.search(eq(" "), any(), anyInt())).thenThrow(new BadRequestException("Query must not be blank"));
+
+        mockMvc.perform(get("/api/v1/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Query must not be blank"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/search should return 503 while the index is being built")
+    void whenIndexNotReady_thenStatus503() throws Exception {
+        when(postSearchService.search(anyString(), any(), anyInt()))
+                .thenThrow(new ServiceUnavailableException("Search index is being built"));
+
+        mockMvc.perform(get("/api/v1/search").param("q", "java"))
+                .andExpect(status().isServiceUnavailable());
+    }
+}
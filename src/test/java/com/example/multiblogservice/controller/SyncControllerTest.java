@@ -0,0 +1,74 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.SyncChangeDTO;
+import com.example.multiblogservice.dto.SyncPageDTO;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.service.SyncService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SyncController.class)
+@DisplayName("Sync Controller Tests")
+public class SyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SyncService syncService;
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{id}/changes should return upserts and tombstones with the next cursor")
+    void whenGetChanges_thenReturnPage() throws Exception {
+        PostDTO post = new PostDTO();
+        post.setId(5L);
+        post.setTitle("Synced");
+        SyncPageDTO page = new SyncPageDTO();
+        page.setBlogId(1L);
+        page.setChanges(List.of(new SyncChangeDTO(11, "upsert", 5L, post), new SyncChangeDTO(12, "delete", 6L, null)));
+        page.setNext(12);
+        when(syncService.getChanges(1L, 10, 50)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/blogs/1/changes").param("since", "10").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].type").value("upsert"))
+                .andExpect(jsonPath("$.changes[0].post.title").value("Synced"))
+                .andExpect(jsonPath("$.changes[1].type").value("delete"))
+                .andExpect(jsonPath("$.changes[1].postId").value(6))
+                .andExpect(jsonPath("$.next").value(12))
+                .andExpect(jsonPath("$.resync").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{id}/changes should default to the full log and 100 changes per page")
+    void whenGetChangesWithoutParameters_thenDefaultsUsed() throws Exception {
+        SyncPageDTO page = new SyncPageDTO();
+        page.setBlogId(1L);
+        page.setChanges(List.of());
+        when(syncService.getChanges(1L, 0, 100)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/blogs/1/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blogs/{id}/changes for an unknown blog should return 404")
+    void whenBlogNotFound_thenReturn404() throws Exception {
+        when(syncService.getChanges(9L, 0, 100)).thenThrow(new ResourceNotFoundException("Blog not found with id 9"));
+
+        mockMvc.perform(get("/api/v1/blogs/9/changes"))
+                .andExpect(status().isNotFound());
+    }
+}
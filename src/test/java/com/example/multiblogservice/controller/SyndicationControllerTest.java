@@ -0,0 +1,100 @@
+package com.example.multiblogservice.controller;
+
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.dto.ResourceVersion;
+import com.example.multiblogservice.feed.SyndicationFeeds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SyndicationController.class)
+@DisplayName("Syndication Controller Tests")
+public class SyndicationControllerTest {
+
+    private static final String ETAG = "\"a1-5f3c\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SyndicationFeeds syndicationFeeds;
+
+    @Test
+    @DisplayName("GET atom.xml should return the stored document with its validators")
+    void whenGetAtom_thenReturnDocument() throws Exception {
+        when(syndicationFeeds.getAtom(1L)).thenReturn(Optional.of(document("<feed/>", new byte[]{1, 2})));
+
+        mockMvc.perform(get("/api/v1/blogs/1/atom.xml"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SyndicationController.ATOM))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("<feed/>"));
+    }
+
+    @Test
+    @DisplayName("GET rss.xml should send the gzip variant to clients that accept it")
+    void whenGetRssWithGzip_thenReturnCompressed() throws Exception {
+        when(syndicationFeeds.getRss(1L)).thenReturn(Optional.of(document("<rss/>", new byte[]{1, 2})));
+
+        mockMvc.perform(get("/api/v1/blogs/1/rss.xml").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SyndicationController.RSS))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(content().bytes(new byte[]{1, 2}));
+    }
+
+    @Test
+    @DisplayName("a matching If-None-Match should return 304")
+    void whenEtagMatches_thenReturn304() throws Exception {
+        when(syndicationFeeds.getAtom(1L)).thenReturn(Optional.of(document("<feed/>", null)));
+
+        mockMvc.perform(get("/api/v1/blogs/1/atom.xml").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("a feed read after a deletion should ignore If-Modified-Since, which cannot see it")
+    void whenOnlyIfModifiedSinceAfterDeletion_thenReturnDocument() throws Exception {
+        // The deletion left the newest updated_at where it was; only the checksum in the ETag moved.
+        ResourceVersion version = ResourceVersion.etagOnly("a", 1L, LocalDateTime.of(2024, 5, 1, 12, 0), "9e1d");
+        byte[] xml = "<feed/>".getBytes(StandardCharsets.UTF_8);
+        when(syndicationFeeds.getAtom(1L)).thenReturn(Optional.of(new SyndicationFeeds.Document(version,
+                new ResponseBodyCache.EncodedBody(version.etag(), 1L, xml, null, null))));
+
+        mockMvc.perform(get("/api/v1/blogs/1/atom.xml").header(HttpHeaders.IF_MODIFIED_SINCE, "Thu, 02 May 2024 00:00:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, version.etag()))
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().string("<feed/>"));
+    }
+
+    @Test
+    @DisplayName("an unknown blog should return 404")
+    void whenBlogMissing_thenReturn404() throws Exception {
+        when(syndicationFeeds.getRss(99L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/v1/blogs/99/rss.xml"))
+                .andExpect(status().isNotFound());
+    }
+
+    private static SyndicationFeeds.Document document(String xml, byte[] gzip) {
+        byte[] identity = xml.getBytes(StandardCharsets.UTF_8);
+        return new SyndicationFeeds.Document(new ResourceVersion(ETAG, 1_714_564_800_000L),
+                new ResponseBodyCache.EncodedBody(ETAG, 1L, identity, gzip, null));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.multiblogservice.event;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Transaction Batch Tests")
+public class TransactionBatchTest {
+
+    private final List<List<String>> consumed = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        new ArrayList<>(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+    }
+
+    @Test
+    @DisplayName("events of a committed transaction should be consumed once, in order, after commit")
+    void whenTransactionCommits_thenOneBatchAfterCommit() {
+        TransactionBatch<String> batch = TransactionBatch.afterCommit(consumed::add);
+        begin();
+
+        batch.add("a");
+        batch.add("b");
+        complete(true);
+
+        assertEquals(List.of(List.of("a", "b")), consumed);
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    @DisplayName("events of a rolled-back transaction should be dropped")
+    void whenTransactionRollsBack_thenNothingConsumed() {
+        TransactionBatch<String> batch = TransactionBatch.afterCommit(consumed::add);
+        begin();
+
+        batch.add("a");
+        complete(false);
+
+        assertTrue(consumed.isEmpty());
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    @DisplayName("outside a transaction an after-commit batch should consume at once, a before-commit batch not at all")
+    void whenNoTransaction_thenImmediateOrIgnored() {
+        TransactionBatch.<String>afterCommit(consumed::add).add("a");
+        TransactionBatch.<String>beforeCommit(consumed::add).add("b");
+
+        assertEquals(List.of(List.of("a")), consumed);
+    }
+
+    @Test
+    @DisplayName("a before-commit batch should be consumed inside the transaction, before it completes")
+    void whenBeforeCommit_thenConsumedBeforeCompletion() {
+        TransactionBatch<String> batch = TransactionBatch.beforeCommit(consumed::add);
+        begin();
+
+        batch.add("a");
+        batch.add("b");
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+
+        assertEquals(List.of(List.of("a", "b")), consumed);
+        complete(true);
+        assertEquals(1, consumed.size());
+    }
+
+    @Test
+    @DisplayName("replayed events should reach each after-commit batch as one list, before-commit batches not at all")
+    void whenReplayed_thenOneBatchPerConsumer() {
+        List<List<String>> other = new ArrayList<>();
+        TransactionBatch<String> batch = TransactionBatch.afterCommit(consumed::add);
+        TransactionBatch<String> otherBatch = TransactionBatch.afterCommit(other::add);
+        TransactionBatch<String> beforeCommitBatch = TransactionBatch.beforeCommit(consumed::add);
+
+        TransactionBatch.replay(() -> {
+            batch.add("a");
+            otherBatch.add("x");
+            beforeCommitBatch.add("b");
+            batch.add("c");
+            assertTrue(consumed.isEmpty());
+        });
+
+        assertEquals(List.of(List.of("a", "c")), consumed);
+        assertEquals(List.of(List.of("x")), other);
+        batch.add("d");
+        assertEquals(List.of(List.of("a", "c"), List.of("d")), consumed);
+    }
+
+    @Test
+    @DisplayName("a failing consumer should not keep the other batches of a replay from being consumed")
+    void whenReplayConsumerFails_thenOthersStillConsumed() {
+        TransactionBatch<String> failing = TransactionBatch.afterCommit(events -> {
+            throw new IllegalStateException("boom");
+        });
+        TransactionBatch<String> batch = TransactionBatch.afterCommit(consumed::add);
+
+        assertThrows(IllegalStateException.class, () -> TransactionBatch.replay(() -> {
+            failing.add("a");
+            batch.add("b");
+        }));
+
+        assertEquals(List.of(List.of("b")), consumed);
+    }
+
+    private static void begin() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static void complete(boolean committed) {
+        int status = committed ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.afterCompletion(status));
+    }
+}
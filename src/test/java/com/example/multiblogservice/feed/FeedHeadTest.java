@@ -0,0 +1,117 @@
+package com.example.multiblogservice.feed;
+
+import com.example.multiblogservice.dto.FeedItemDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Feed Head Tests")
+public class FeedHeadTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Test
+    @DisplayName("a buffer holding every post should answer any page, including the last")
+    void whenComplete_thenAnswersEveryPage() {
+        FeedHead head = new FeedHead(10);
+        head.replaceAll(List.of(item(3, 1, 3), item(2, 2, 2), item(1, 1, 1)));
+
+        FeedHead.Page first = head.page(null, null, 2).orElseThrow();
+        assertEquals(List.of(3L, 2L), ids(first));
+        assertTrue(first.hasMore());
+
+        FeedHead.Page second = head.page(new FeedHead.Position(at(2), 2L), null, 2).orElseThrow();
+        assertEquals(List.of(1L), ids(second));
+        assertFalse(second.hasMore());
+
+        assertEquals(List.of(3L, 1L), ids(head.page(null, Set.of(1L), 5).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("a full buffer should decline pages that run past its oldest entry")
+    void whenPartial_thenDeclinesPagesBeyondTheBuffer() {
+        FeedHead head = new FeedHead(2);
+        head.replaceAll(List.of(item(5, 1, 5), item(4, 1, 4)));
+
+        assertFalse(head.isComplete());
+        FeedHead.Page page = head.page(null, Set.of(1L), 1).orElseThrow();
+        assertEquals(List.of(5L), ids(page));
+        assertTrue(page.hasMore());
+        assertTrue(head.page(null, null, 2).isEmpty());
+        assertTrue(head.page(null, Set.of(2L), 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("new posts should push the oldest entry out of a full buffer")
+    void whenNewPostOffered_thenOldestIsEvicted() {
+        FeedHead head = new FeedHead(2);
+        head.replaceAll(List.of(item(2, 1, 2), item(1, 1, 1)));
+        assertTrue(head.isComplete());
+
+        head.offer(item(3, 2, 3));
+
+        assertEquals(2, head.size());
+        assertFalse(head.isComplete());
+        assertEquals(List.of(3L), ids(head.page(null, null, 1).orElseThrow()));
+        assertTrue(head.page(new FeedHead.Position(at(2), 2L), null, 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("a post older than every entry of a full buffer should not be inserted")
+    void whenOlderPostOffered_thenIgnored() {
+        FeedHead head = new FeedHead(2);
+        head.replaceAll(List.of(item(5, 1, 5), item(4, 1, 4)));
+
+        head.offer(item(1, 1, 1));
+
+        assertEquals(2, head.size());
+        assertEquals(List.of(5L), ids(head.page(null, null, 1).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("updates should replace entries and deletions should remove them")
+    void whenUpdatedOrRemoved_thenEntriesFollow() {
+        FeedHead head = new FeedHead(10);
+        head.replaceAll(List.of(item(3, 1, 3), item(2, 2, 2), item(1, 1, 1)));
+
+        FeedItemDTO renamed = item(2, 2, 2);
+        renamed.setTitle("Renamed");
+        head.offer(renamed);
+        head.remove(3L);
+        head.removeBlog(1L);
+
+        FeedHead.Page page = head.page(null, null, 10).orElseThrow();
+        assertEquals(List.of(2L), ids(page));
+        assertEquals("Renamed", page.items().get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("a buffer shrunk below half its capacity should ask to be refilled")
+    void whenMostEntriesRemoved_thenDepleted() {
+        FeedHead head = new FeedHead(4);
+        head.replaceAll(List.of(item(4, 1, 4), item(3, 1, 3), item(2, 2, 2), item(1, 2, 1)));
+        assertFalse(head.isDepleted());
+
+        head.removeBlog(1L);
+        head.remove(2L);
+
+        assertTrue(head.isDepleted());
+    }
+
+    private static FeedItemDTO item(long id, long blogId, int minutes) {
+        return new FeedItemDTO(id, blogId, "Post " + id, at(minutes), at(minutes));
+    }
+
+    private static LocalDateTime at(int minutes) {
+        return T0.plusMinutes(minutes);
+    }
+
+    private static List<Long> ids(FeedHead.Page page) {
+        return page.items().stream().map(FeedItemDTO::getId).toList();
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.multiblogservice.feed;
+
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Syndication Feeds Tests")
+public class SyndicationFeedsTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SyndicationFeeds feeds;
+    private Blog blog;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ResponseBodyCache responseBodyCache = new ResponseBodyCache(new ObjectMapper(), 1, Duration.ofMinutes(1), 512, 5);
+        feeds = new SyndicationFeeds(blogRepository, postRepository, responseBodyCache, transactionManager,
+                3, 40, "https://blogs.example.com/", 1);
+        blog = new Blog();
+        blog.setId(1L);
+        blog.setName("Notes & Essays");
+        blog.setDescription("Short <things>");
+        blog.setUpdatedAt(T0);
+        lenient().when(blogRepository.findById(1L)).thenReturn(Optional.of(blog));
+    }
+
+    @Test
+    @DisplayName("the first request should build the documents, later requests should not query")
+    void whenRequestedTwice_thenBuiltOnce() throws Exception {
+        when(postRepository.findLatestByBlogId(eq(1L), any())).thenReturn(List.of(post(2, 2), post(1, 1)));
+
+        SyndicationFeeds.Document atom = feeds.getAtom(1L).orElseThrow();
+        SyndicationFeeds.Document rss = feeds.getRss(1L).orElseThrow();
+        feeds.getAtom(1L);
+
+        verify(postRepository, times(1)).findLatestByBlogId(anyLong(), any());
+        Document atomXml = parse(atom);
+        assertEquals("feed", atomXml.getDocumentElement().getLocalName());
+        assertEquals("http://www.w3.org/2005/Atom", atomXml.getDocumentElement().getNamespaceURI());
+        assertEquals(List.of("urn:multiblog:post:2", "urn:multiblog:post:1"), texts(atomXml, "entry", "id"));
+        assertEquals(List.of("Post 2", "Post 1"), texts(parse(rss), "item", "title"));
+        assertTrue(atom.version().etag().startsWith("\"a1-"));
+        assertTrue(rss.version().etag().startsWith("\"r1-"));
+    }
+
+    @Test
+    @DisplayName("a new post should be spliced into the stored entries without re-reading the window")
+    void whenPostCreated_thenSplicedIn() throws Exception {
+        when(postRepository.findLatestByBlogId(eq(1L), any())).thenReturn(List.of(post(2, 2), post(1, 1)));
+        SyndicationFeeds.Document before = feeds.getAtom(1L).orElseThrow();
+        when(postRepository.findAllById(any())).thenReturn(List.of(post(3, 3)));
+
+        feeds.onPostChanged(new PostChangedEvent(1L, 3L, ChangeType.CREATED));
+        SyndicationFeeds.Document after = feeds.getAtom(1L).orElseThrow();
+
+        verify(postRepository, times(1)).findLatestByBlogId(anyLong(), any());
+        assertEquals(List.of("urn:multiblog:post:3", "urn:multiblog:post:2", "urn:multiblog:post:1"),
+                texts(parse(after), "entry", "id"));
+        assertNotEquals(before.version().etag(), after.version().etag());
+        assertEquals(-1, after.version().lastModified());
+    }
+
+    @Test
+    @DisplayName("an update racing an invalidation should be discarded, not stored over it")
+    void whenFeedDroppedDuringUpdate_thenUpdateDiscarded() throws Exception {
+        when(postRepository.findLatestByBlogId(eq(1L), any())).thenReturn(List.of(post(2, 2), post(1, 1)));
+        feeds.getAtom(1L);
+        when(postRepository.findAllById(any())).thenAnswer(invocation -> {
+            feeds.onRemoteChangesMissed(null);
+            return List.of(post(3, 3));
+        });
+
+        feeds.onPostChanged(new PostChangedEvent(1L, 3L, ChangeType.CREATED));
+        feeds.getAtom(1L);
+
+        verify(postRepository, times(2)).findLatestByBlogId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("a first build overtaken by a change should be served once but not kept")
+    void whenPostCommittedDuringFirstBuild_thenBuildNotKept() throws Exception {
+        when(postRepository.findLatestByBlogId(eq(1L), any()))
+                .thenAnswer(invocation -> {
+                    feeds.onPostChanged(new PostChangedEvent(1L, 3L, ChangeType.CREATED));
+                    return List.of(post(2, 2), post(1, 1));
+                })
+                .thenReturn(List.of(post(3, 3), post(2, 2), post(1, 1)));
+
+        feeds.getAtom(1L);
+        SyndicationFeeds.Document rebuilt = feeds.getAtom(1L).orElseThrow();
+        feeds.getAtom(1L);
+
+        assertEquals(List.of("urn:multiblog:post:3", "urn:multiblog:post:2", "urn:multiblog:post:1"),
+                texts(parse(rebuilt), "entry", "id"));
+        verify(postRepository, times(2)).findLatestByBlogId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("deleting from a full window should read it again so an older post moves in")
+    void whenPostDeletedFromFullWindow_thenWindowReloaded() throws Exception {
+        when(postRepository.findLatestByBlogId(eq(1L), any()))
+                .thenReturn(List.of(post(4, 4), post(3, 3), post(2, 2)))
+                .thenReturn(List.of(post(4, 4), post(2, 2), post(1, 1)));
+        feeds.getAtom(1L);
+
+        feeds.onPostChanged(new PostChangedEvent(1L, 3L, ChangeType.DELETED));
+
+        assertEquals(List.of("urn:multiblog:post:4", "urn:multiblog:post:2", "urn:multiblog:post:1"),
+                texts(parse(feeds.getAtom(1L).orElseThrow()), "entry", "id"));
+        verify(postRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("updates to posts outside the window and changes to blogs without a feed should not query")
+    void whenChangeCannotAffectFeed_thenIgnored() {
+        when(postRepository.findLatestByBlogId(eq(1L), any())).thenReturn(List.of(post(4, 4), post(3, 3), post(2, 2)));
+        feeds.getAtom(1L);
+
+        feeds.onPostChanged(new PostChangedEvent(1L, 1L, ChangeType.UPDATED));
+        feeds.onPostChanged(new PostChangedEvent(2L, 9L, ChangeType.CREATED));
+
+        verify(postRepository, never()).findAllById(any());
+        verify(postRepository, times(1)).findLatestByBlogId(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("a renamed blog should get a new header, a deleted one should lose its feed")
+    void whenBlogChanges_thenHeaderFollows() throws Exception {
+        when(postRepository.findLatestByBlogId(eq(1L), any())).thenReturn(List.of(post(1, 1)));
+        feeds.getRss(1L);
+        Blog renamed = new Blog();
+        renamed.setId(1L);
+        renamed.setName("Renamed");
+        renamed.setDescription("Short <things>");
+        renamed.setUpdatedAt(T0.plusHours(1));
+        when(blogRepository.findById(1L)).thenReturn(Optional.of(renamed));
+
+        feeds.onBlogChanged(new BlogChangedEvent(1L, ChangeType.UPDATED));
+        assertEquals("Renamed", parse(feeds.getRss(1L).orElseThrow())
+                .getElementsByTagName("title").item(0).getTextContent());
+
+        feeds.onBlogChanged(new BlogChangedEvent(1L, ChangeType.DELETED));
+        when(blogRepository.findById(1L)).thenReturn(Optional.empty());
+        assertTrue(feeds.getRss(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("summaries should be truncated and characters XML cannot carry dropped")
+    void whenContentIsLongOrInvalid_thenSummarySanitized() throws Exception {
+        Post post = post(1, 1);
+        post.setContent("bell\u0007 " + "x".repeat(100));
+        when(postRepository.findLatestByBlogId(eq(1L), any())).thenReturn(List.of(post));
+
+        String summary = texts(parse(feeds.getAtom(1L).orElseThrow()), "entry", "summary").get(0);
+
+        assertEquals("bell " + "x".repeat(34) + "...", summary);
+    }
+
+    private Post post(long id, int minutes) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Post " + id);
+        post.setContent("Content " + id);
+        post.setCreatedAt(T0.plusMinutes(minutes));
+        post.setUpdatedAt(T0.plusMinutes(minutes));
+        post.setBlog(blog);
+        return post;
+    }
+
+    private static Document parse(SyndicationFeeds.Document document) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        byte[] xml = document.body().identity();
+        assertTrue(new String(xml, StandardCharsets.UTF_8).startsWith("<?xml"));
+        return factory.newDocumentBuilder().parse(new ByteArrayInputStream(xml));
+    }
+
+    private static List<String> texts(Document document, String parent, String child) {
+        List<String> texts = new ArrayList<>();
+        NodeList parents = document.getElementsByTagName(parent);
+        for (int i = 0; i < parents.getLength(); i++) {
+            NodeList children = ((org.w3c.dom.Element) parents.item(i)).getElementsByTagName(child);
+            texts.add(children.item(0).getTextContent());
+        }
+        return texts;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.multiblogservice.integration;
 
+import com.example.multiblogservice.dto.BlogSummaryDTO;
 import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
 import com.example.multiblogservice.repository.BlogRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +10,7 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,4 +43,113 @@ public class BlogIntegrationTest {
         assertThat(found.getName()).isEqualTo(blog.getName());
         assertThat(found.getDescription()).isEqualTo(blog.getDescription());
     }
+
+    @Test
+    public void whenFindNames_thenReturnIdAndNameOnly() {
+        // given
+        Blog blog = new Blog();
+        blog.setName("Named Blog");
+        blog.setDescription("Test Description");
+        entityManager.persist(blog);
+        entityManager.flush();
+
+        // when
+        List<BlogRepository.BlogName> names = blogRepository.findAllNames();
+        Optional<String> name = blogRepository.findNameById(blog.getId());
+
+        // then
+        assertThat(names).anySatisfy(n -> {
+            assertThat(n.getId()).isEqualTo(blog.getId());
+            assertThat(n.getName()).isEqualTo("Named Blog");
+        });
+        assertThat(name).contains("Named Blog");
+        assertThat(blogRepository.findNameById(-1L)).isEmpty();
+    }
+
+    @Test
+    public void whenFindAllSummaries_thenReturnPostCountsWithoutLoadingPosts() {
+        // given
+        Blog withPosts = new Blog();
+        withPosts.setName("Busy Blog");
+        withPosts.setDescription("Has posts");
+        entityManager.persist(withPosts);
+
+        Blog empty = new Blog();
+        empty.setName("Quiet Blog");
+        empty.setDescription("No posts yet");
+        entityManager.persist(empty);
+
+        for (int i = 1; i <= 3; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setBlog(withPosts);
+            entityManager.persist(post);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<BlogSummaryDTO> summaries = blogRepository.findAllSummaries();
+
+        // then
+        assertThat(summaries).hasSize(2);
+        BlogSummaryDTO busy = summaries.get(0);
+        assertThat(busy.getName()).isEqualTo("Busy Blog");
+        assertThat(busy.getPostCount()).isEqualTo(3L);
+        assertThat(busy.getLatestPostAt()).isNotNull();
+        BlogSummaryDTO quiet = summaries.get(1);
+        assertThat(quiet.getPostCount()).isZero();
+        assertThat(quiet.getLatestPostAt()).isNull();
+    }
+
+    @Test
+    public void whenFindWithPostsById_thenPostsAreInitialized() {
+        // given
+        Blog blog = new Blog();
+        blog.setName("Eager Blog");
+        blog.setDescription("Test Description");
+        entityManager.persist(blog);
+        Post post = new Post();
+        post.setTitle("Post");
+        post.setContent("Content");
+        post.setBlog(blog);
+        entityManager.persist(post);
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        Optional<Blog> found = blogRepository.findWithPostsById(blog.getId());
+
+        // then
+        assertThat(found).isPresent();
+        assertThat(entityManager.getEntityManager().getEntityManagerFactory().getPersistenceUnitUtil()
+                .isLoaded(found.get(), "posts")).isTrue();
+        assertThat(found.get().getPosts()).hasSize(1);
+    }
+
+    @Test
+    public void whenFindVersionById_thenReturnTimestampsAndPostCount() {
+        // given
+        Blog blog = new Blog();
+        blog.setName("Versioned Blog");
+        blog.setDescription("Test Description");
+        entityManager.persist(blog);
+        Post post = new Post();
+        post.setTitle("Post");
+        post.setContent("Content");
+        post.setBlog(blog);
+        entityManager.persist(post);
+        entityManager.flush();
+
+        // when
+        Optional<BlogRepository.BlogVersion> version = blogRepository.findVersionById(blog.getId());
+
+        // then
+        assertThat(version).isPresent();
+        assertThat(version.get().getUpdatedAt()).isNotNull();
+        assertThat(version.get().getLatestPostUpdatedAt()).isNotNull();
+        assertThat(version.get().getPostCount()).isEqualTo(1L);
+        assertThat(blogRepository.findVersionById(-1L)).isEmpty();
+    }
 }
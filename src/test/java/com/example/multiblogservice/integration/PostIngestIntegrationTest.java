@@ -0,0 +1,65 @@
+package com.example.multiblogservice.integration;
+
+import com.example.multiblogservice.dto.BulkIngestResultDTO;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.repository.PostRepository;
+import com.example.multiblogservice.service.PostIngestService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "multiblog.ingest.batch-size=7")
+@ActiveProfiles("test")
+public class PostIngestIntegrationTest {
+
+    @Autowired
+    private PostIngestService postIngestService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    public void whenIngestNdjson_thenValidLinesArePersistedAcrossBatches() throws Exception {
+        // given
+        Blog blog = new Blog();
+        blog.setName("Bulk Blog");
+        blog.setDescription("Seeded in bulk");
+        blog = blogRepository.save(blog);
+
+        String body = IntStream.rangeClosed(1, 20)
+                .mapToObj(i -> "{\"title\":\"Post " + i + "\",\"content\":\"Content " + i + "\"}")
+                .collect(Collectors.joining("\n"))
+                + "\n\n{\"title\":\"\"}\n{not json\n";
+
+        // when
+        BulkIngestResultDTO result = postIngestService.ingest(blog.getId(),
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        // then
+        assertThat(result.getReceived()).isEqualTo(22);
+        assertThat(result.getCreated()).isEqualTo(20);
+        assertThat(result.getFailed()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkIngestResultDTO.LineError::getLine).containsExactly(22, 23);
+        assertThat(postRepository.findByBlogId(blog.getId())).hasSize(20);
+    }
+
+    @Test
+    public void whenIngestIntoMissingBlog_thenThrowNotFound() {
+        assertThatThrownBy(() -> postIngestService.ingest(-1L, new ByteArrayInputStream(new byte[0])))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+}
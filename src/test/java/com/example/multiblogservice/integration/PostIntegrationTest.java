@@ -1,6 +1,8 @@
 package com.example.multiblogservice.integration;
 
+import com.example.multiblogservice.dto.FeedItemDTO;
 import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.feed.FeedHead;
 import com.example.multiblogservice.model.Post;
 import com.example.multiblogservice.repository.BlogRepository;
 import com.example.multiblogservice.repository.PostRepository;
@@ -8,9 +10,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -56,4 +62,126 @@ public class PostIntegrationTest {
         assertThat(found).hasSize(2);
         assertThat(found).extracting(Post::getTitle).containsExactlyInAnyOrder("Test Post 1", "Test Post 2");
     }
+
+    @Test
+    public void whenFindPageByBlogIdAfter_thenReturnPostsAfterCursor() {
+        // given
+        Blog blog = new Blog();
+        blog.setName("Paged Blog");
+        blog.setDescription("Test Description");
+        blog = blogRepository.save(blog);
+
+        for (int i = 1; i <= 5; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setBlog(blog);
+            entityManager.persist(post);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<Post> firstPage = postRepository.findFirstPageByBlogId(blog.getId(), PageRequest.of(0, 2));
+        Post last = firstPage.get(firstPage.size() - 1);
+        List<Post> rest = postRepository.findPageByBlogIdAfter(
+                blog.getId(), last.getCreatedAt(), last.getId(), PageRequest.of(0, 10));
+
+        // then
+        assertThat(firstPage).hasSize(2);
+        assertThat(rest).hasSize(3);
+        assertThat(rest).extracting(Post::getId).doesNotContainAnyElementsOf(
+                firstPage.stream().map(Post::getId).toList());
+    }
+
+    @Test
+    public void whenFindPostsVersionByBlogId_thenReturnLatestUpdateAndCount() {
+        // given
+        Blog blog = new Blog();
+        blog.setName("Versioned Blog");
+        blog.setDescription("Test Description");
+        blog = blogRepository.save(blog);
+
+        Post post = new Post();
+        post.setTitle("Only Post");
+        post.setContent("Content");
+        post.setBlog(blog);
+        entityManager.persist(post);
+        entityManager.flush();
+
+        // when
+        PostRepository.PostsVersion version = postRepository.findPostsVersionByBlogId(blog.getId());
+        Optional<LocalDateTime> updatedAt = postRepository.findUpdatedAtById(post.getId());
+
+        // then
+        assertThat(version.getPostCount()).isEqualTo(1L);
+        assertThat(version.getLatestUpdatedAt()).isNotNull();
+        assertThat(updatedAt).isPresent();
+        assertThat(postRepository.findUpdatedAtById(-1L)).isEmpty();
+    }
+
+    @Test
+    public void whenStreamByBlogId_thenReturnPostsInCreationOrder() {
+        // given
+        Blog blog = new Blog();
+        blog.setName("Exported Blog");
+        blog.setDescription("Test Description");
+        blog = blogRepository.save(blog);
+
+        for (int i = 1; i <= 3; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setBlog(blog);
+            entityManager.persist(post);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<String> titles;
+        try (Stream<Post> posts = postRepository.streamByBlogId(blog.getId())) {
+            titles = posts.map(Post::getTitle).toList();
+        }
+
+        // then
+        assertThat(titles).containsExactly("Post 1", "Post 2", "Post 3");
+    }
+
+    @Test
+    public void whenFindFeedItems_thenReturnNewestFirstAcrossBlogs() {
+        // given
+        Blog first = new Blog();
+        first.setName("Feed Blog 1");
+        first.setDescription("Test Description");
+        first = blogRepository.save(first);
+        Blog second = new Blog();
+        second.setName("Feed Blog 2");
+        second.setDescription("Test Description");
+        second = blogRepository.save(second);
+
+        for (int i = 1; i <= 4; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setBlog(i % 2 == 0 ? second : first);
+            entityManager.persist(post);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // when
+        List<FeedItemDTO> latest = postRepository.findLatestFeedItems(PageRequest.of(0, 10));
+        FeedItemDTO newestOfSecond = postRepository.findLatestFeedItemsByBlogId(second.getId(), PageRequest.of(0, 1)).get(0);
+        List<FeedItemDTO> olderOfSecond = postRepository.findFeedItemsByBlogIdBefore(
+                second.getId(), newestOfSecond.getCreatedAt(), newestOfSecond.getId(), PageRequest.of(0, 10));
+
+        // then
+        assertThat(latest).hasSizeGreaterThanOrEqualTo(4);
+        assertThat(latest).isSortedAccordingTo(FeedHead.NEWEST_FIRST);
+        assertThat(newestOfSecond.getTitle()).isEqualTo("Post 4");
+        assertThat(olderOfSecond).extracting(FeedItemDTO::getTitle).containsExactly("Post 2");
+        assertThat(postRepository.findFeedItemsByIdIn(List.of(newestOfSecond.getId())))
+                .extracting(FeedItemDTO::getBlogId).containsExactly(second.getId());
+    }
 }
@@ -0,0 +1,93 @@
+package com.example.multiblogservice.integration;
+
+import com.example.multiblogservice.dto.PostViewsDTO;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.repository.PostRepository;
+import com.example.multiblogservice.views.PostViewStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PostViewIntegrationTest {
+
+    @Autowired
+    private PostViewStore postViewStore;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    public void whenViewsAdded_thenRowsCreatedAndIncremented() {
+        // given
+        Blog blog = newBlog();
+        Post first = newPost(blog, "First");
+        Post second = newPost(blog, "Second");
+
+        // when
+        postViewStore.addViews(List.of(first.getId(), second.getId()), Map.of(first.getId(), 3L, second.getId(), 5L));
+        postViewStore.addViews(List.of(first.getId()), Map.of(first.getId(), 4L));
+
+        // then
+        assertThat(postViewStore.findViews(blog.getId(), first.getId())).contains(7L);
+        assertThat(postViewStore.findMostViewed(blog.getId(), 10))
+                .extracting(PostViewsDTO::getPostId)
+                .containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    public void whenPostUnviewedOrMissingOrInOtherBlog_thenZeroOrEmpty() {
+        // given
+        Blog blog = newBlog();
+        Post post = newPost(blog, "Unviewed");
+
+        // then
+        assertThat(postViewStore.findViews(blog.getId(), post.getId())).contains(0L);
+        assertThat(postViewStore.findViews(blog.getId(), -1L)).isEmpty();
+        assertThat(postViewStore.findViews(newBlog().getId(), post.getId())).isEmpty();
+    }
+
+    @Test
+    public void whenViewedPostDeleted_thenLaterFlushSkipsIt() {
+        // given
+        Blog blog = newBlog();
+        Post post = newPost(blog, "Deleted");
+        postViewStore.addViews(List.of(post.getId()), Map.of(post.getId(), 2L));
+
+        // when
+        postRepository.deleteById(post.getId());
+        postViewStore.addViews(List.of(post.getId()), Map.of(post.getId(), 1L));
+
+        // then
+        assertThat(postViewStore.findViews(blog.getId(), post.getId())).isEmpty();
+        assertThat(postViewStore.findMostViewed(blog.getId(), 10)).isEmpty();
+    }
+
+    private Blog newBlog() {
+        Blog blog = new Blog();
+        blog.setName("Viewed " + UUID.randomUUID());
+        blog.setDescription("View counting");
+        return blogRepository.save(blog);
+    }
+
+    private Post newPost(Blog blog, String title) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent(title + " content");
+        post.setBlog(blog);
+        return postRepository.save(post);
+    }
+}
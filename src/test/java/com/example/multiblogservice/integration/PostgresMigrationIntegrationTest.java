@@ -0,0 +1,70 @@
+package com.example.multiblogservice.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Runs the Postgres migrations, which the H2 test profile never touches, against a real database
+ * in a scratch schema. Off by default; against the docker-compose database:
+ * {@code ./gradlew test --tests '*PostgresMigrationIntegrationTest'
+ * -Dmultiblog.postgres-test.url=jdbc:postgresql://localhost:5432/multiblogdb}
+ * (user and password default to the docker-compose ones).
+ */
+@EnabledIfSystemProperty(named = "multiblog.postgres-test.url", matches = ".+")
+@DisplayName("Postgres Migration Integration Tests")
+public class PostgresMigrationIntegrationTest {
+
+    private static final String SCHEMA = "multiblog_migration_check";
+
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(
+                System.getProperty("multiblog.postgres-test.url"),
+                System.getProperty("multiblog.postgres-test.username", "bloguser"),
+                System.getProperty("multiblog.postgres-test.password", "blogpassword"));
+    }
+
+    @Test
+    @DisplayName("the Postgres migrations should apply, concurrent index builds included, with the application's lock settings")
+    void whenMigratingPostgres_thenAllVersionsAppliedWithoutBlocking() {
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/postgresql")
+                .schemas(SCHEMA)
+                .createSchemas(true)
+                .cleanDisabled(false)
+                // Mirrors spring.flyway.postgresql.transactional-lock=false.
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load();
+        flyway.clean();
+
+        // A transaction-level lock makes CREATE INDEX CONCURRENTLY wait for itself forever.
+        assertTimeoutPreemptively(Duration.ofMinutes(2), () -> flyway.migrate());
+
+        MigrationInfo[] applied = flyway.info().applied();
+        assertThat(Arrays.stream(applied).map(info -> info.getVersion().getVersion()))
+                .containsExactly("1", "2", "3", "4", "5", "6");
+        List<String> invalid = new JdbcTemplate(dataSource).queryForList(
+                "SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                        "JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = ? AND NOT i.indisvalid",
+                String.class, SCHEMA);
+        assertThat(invalid).isEmpty();
+        flyway.clean();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.multiblogservice.integration;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@DisplayName("Schema Migration Integration Tests")
+public class SchemaMigrationIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("all migrations should be applied before Hibernate validates the mapping")
+    void whenContextStarts_thenAllMigrationsApplied() {
+        MigrationInfo[] applied = flyway.info().applied();
+
+        assertThat(Arrays.stream(applied).map(info -> info.getVersion().getVersion()))
+                .containsExactly("1", "2", "3", "4", "5", "6");
+        assertThat(flyway.info().pending()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("the indexes the post queries rely on should exist")
+    void whenMigrated_thenPostIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) = 'posts'",
+                String.class);
+
+        assertThat(indexes).contains("idx_posts_blog_created_id", "idx_posts_blog_updated", "idx_posts_created_id");
+    }
+
+    @Test
+    @DisplayName("the change log should be indexed for per-blog sync reads")
+    void whenMigrated_thenChangeLogIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) = 'change_log'",
+                String.class);
+
+        assertThat(indexes).contains("idx_change_log_blog_seq", "idx_change_log_post");
+    }
+}
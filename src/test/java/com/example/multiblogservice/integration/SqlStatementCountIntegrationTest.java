@@ -0,0 +1,134 @@
+package com.example.multiblogservice.integration;
+
+import com.example.multiblogservice.cache.BlogNameIndex;
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.repository.PostRepository;
+import com.example.multiblogservice.service.BlogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.example.multiblogservice.sql.SqlStatementAssertions.assertStatementCount;
+import static com.example.multiblogservice.sql.SqlStatementAssertions.statementCount;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements per endpoint. If one of these fails, a change added
+ * (or removed) database round trips; update the expectation only if that was intended.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class SqlStatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private BlogService blogService;
+
+    private Blog blog;
+
+    private List<Post> posts;
+
+    @BeforeEach
+    void setUp() {
+        blog = new Blog();
+        blog.setName("Counted " + UUID.randomUUID());
+        blog.setDescription("Statement counting");
+        blog = blogRepository.save(blog);
+
+        posts = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            Post post = new Post();
+            post.setTitle("Post " + i);
+            post.setContent("Content " + i);
+            post.setBlog(blog);
+            posts.add(postRepository.save(post));
+        }
+    }
+
+    @Test
+    public void whenListBlogs_thenOneStatement() throws Exception {
+        mockMvc.perform(get("/api/v1/blogs"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(1));
+    }
+
+    @Test
+    public void whenGetBlog_thenVersionAndBlogWithPostsOnce_andCachedAfterwards() throws Exception {
+        mockMvc.perform(get("/api/v1/blogs/" + blog.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+
+        mockMvc.perform(get("/api/v1/blogs/" + blog.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(0));
+    }
+
+    @Test
+    public void whenGetBlogBySlug_thenResolvingTheSlugRunsNoStatement() throws Exception {
+        Blog named = new Blog();
+        named.setName("Slugged " + UUID.randomUUID());
+        named.setDescription("Resolved from memory");
+        BlogDTO created = blogService.createBlog(named);
+        String slug = BlogNameIndex.slug(created.getName());
+
+        mockMvc.perform(get("/api/v1/blogs/by-slug/" + slug))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+
+        mockMvc.perform(get("/api/v1/blogs/by-slug/" + slug))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(0));
+    }
+
+    @Test
+    public void whenFindBlogWithPosts_thenPostsComeWithTheBlog() throws Exception {
+        Blog found = assertStatementCount(1, () -> blogRepository.findWithPostsById(blog.getId()).orElseThrow());
+
+        assertThat(assertStatementCount(0, () -> found.getPosts().size())).isEqualTo(3);
+    }
+
+    @Test
+    public void whenListPosts_thenVersionAndPageStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/blogs/" + blog.getId() + "/posts"))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    public void whenGetPost_thenVersionAndPostStatements() throws Exception {
+        mockMvc.perform(get("/api/v1/blogs/" + blog.getId() + "/posts/" + posts.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementCount(2));
+    }
+
+    @Test
+    public void whenDeletePost_thenSelectDeleteAndChangeLogAppend() throws Exception {
+        // Select and delete, then the change log: blog append lock, tombstone and compaction.
+        mockMvc.perform(delete("/api/v1/blogs/" + blog.getId() + "/posts/" + posts.get(0).getId()))
+                .andExpect(status().isNoContent())
+                .andExpect(statementCount(5));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.multiblogservice.integration;
+
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.SyncChangeDTO;
+import com.example.multiblogservice.dto.SyncPageDTO;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostService;
+import com.example.multiblogservice.service.SyncService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class SyncIntegrationTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private BlogService blogService;
+
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void whenPostsChange_thenLogKeepsLatestUpsertAndTombstone() {
+        // given
+        Blog blog = newBlog();
+        PostDTO kept = postService.createPost(newPost(blog, "Kept"));
+        PostDTO removed = postService.createPost(newPost(blog, "Removed"));
+        long afterCreates = syncService.getChanges(blog.getId(), 0, 100).getNext();
+
+        // when
+        Post update = newPost(blog, "Kept, edited");
+        postService.updatePost(kept.getId(), update);
+        postService.deletePost(removed.getId());
+
+        // then
+        SyncPageDTO full = syncService.getChanges(blog.getId(), 0, 100);
+        assertThat(full.getChanges()).extracting(SyncChangeDTO::getType).containsExactly("upsert", "delete");
+        assertThat(full.getChanges().get(0).getPost().getTitle()).isEqualTo("Kept, edited");
+        assertThat(full.getChanges().get(1).getPostId()).isEqualTo(removed.getId());
+        assertThat(full.getNext()).isGreaterThan(afterCreates);
+
+        SyncPageDTO delta = syncService.getChanges(blog.getId(), afterCreates, 100);
+        assertThat(delta.getChanges()).hasSize(2);
+        assertThat(syncService.getChanges(blog.getId(), full.getNext(), 100).getChanges()).isEmpty();
+    }
+
+    @Test
+    public void whenTombstonesExpire_thenPurgedAndOldCursorsResync() {
+        // given
+        Blog blog = newBlog();
+        PostDTO post = postService.createPost(newPost(blog, "Short-lived"));
+        long afterCreate = syncService.getChanges(blog.getId(), 0, 100).getNext();
+        postService.deletePost(post.getId());
+        jdbcTemplate.update("UPDATE change_log SET changed_at = changed_at - INTERVAL '60' DAY WHERE post_id = ?", post.getId());
+
+        // when
+        syncService.purgeTombstones();
+
+        // then
+        assertThat(syncService.getChanges(blog.getId(), 0, 100).getChanges()).isEmpty();
+        SyncPageDTO stale = syncService.getChanges(blog.getId(), afterCreate, 100);
+        assertThat(stale.isResync()).isTrue();
+        assertThat(stale.getChanges()).isEmpty();
+    }
+
+    @Test
+    public void whenBlogDeleted_thenOnlyBlogTombstoneRemains() {
+        // given
+        Blog blog = newBlog();
+        postService.createPost(newPost(blog, "First"));
+        postService.createPost(newPost(blog, "Second"));
+
+        // when
+        blogService.deleteBlog(blog.getId());
+
+        // then
+        SyncPageDTO page = syncService.getChanges(blog.getId(), 0, 100);
+        assertThat(page.getChanges()).extracting(SyncChangeDTO::getType).containsExactly("blog-delete");
+    }
+
+    private Blog newBlog() {
+        Blog blog = new Blog();
+        blog.setName("Synced " + UUID.randomUUID());
+        blog.setDescription("Delta sync");
+        return blogRepository.save(blog);
+    }
+
+    private static Post newPost(Blog blog, String title) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent(title + " content");
+        post.setBlog(blog);
+        return post;
+    }
+}
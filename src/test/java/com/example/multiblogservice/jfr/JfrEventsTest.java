@@ -0,0 +1,62 @@
+package com.example.multiblogservice.jfr;
+
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.service.DtoMapper;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JFR Event Tests")
+public class JfrEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("blog conversion should emit one event with the blog id and post count")
+    void whenRecordingEnabled_thenBlogConversionIsRecorded() throws Exception {
+        Blog blog = new Blog();
+        blog.setId(7L);
+        blog.setName("Recorded Blog");
+        for (long id = 1; id <= 2; id++) {
+            Post post = new Post();
+            post.setId(id);
+            post.setBlog(blog);
+            blog.getPosts().add(post);
+        }
+
+        Path file = tempDir.resolve("conversion.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("multiblog.DtoConversion").withThreshold(Duration.ZERO);
+            recording.start();
+            DtoMapper.toBlogDTO(blog);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("multiblog.DtoConversion"))
+                .toList();
+        assertEquals(1, events.size());
+        assertEquals("Blog", events.get(0).getString("type"));
+        assertEquals(7L, events.get(0).getLong("blogId"));
+        assertEquals(2, events.get(0).getInt("posts"));
+    }
+
+    @Test
+    @DisplayName("without a recording the events should report themselves disabled")
+    void whenNoRecording_thenEventsAreDisabled() {
+        assertFalse(new RequestEvent().isEnabled());
+        assertFalse(new SerializationEvent().isEnabled());
+    }
+}
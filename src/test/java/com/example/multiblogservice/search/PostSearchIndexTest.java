@@ -0,0 +1,107 @@
+package com.example.multiblogservice.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Post Search Index Tests")
+public class PostSearchIndexTest {
+
+    private PostSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PostSearchIndex();
+        index.upsert(1L, 10L, "Virtual threads in Spring", "Spring Boot can run requests on virtual threads.");
+        index.upsert(2L, 10L, "Connection pools", "Sizing a pool: threads wait for connections.");
+        index.upsert(3L, 20L, "Gardening", "Tomatoes need sun, water and patience.");
+    }
+
+    @Test
+    @DisplayName("tokenize should lower-case and split on anything but letters and digits")
+    void whenTokenize_thenLowerCasedWords() {
+        assertEquals(List.of("h\u00e9llo", "world", "42"), PostSearchIndex.tokenize("H\u00e9llo, WORLD!42"));
+    }
+
+    @Test
+    @DisplayName("search should rank the post with more and title matches first")
+    void whenSearch_thenRankedByBm25() {
+        PostSearchIndex.Result result = index.search("virtual threads", null, 10);
+
+        assertEquals(2, result.total());
+        assertEquals(1L, result.hits().get(0).postId());
+        assertEquals(2L, result.hits().get(1).postId());
+        assertTrue(result.hits().get(0).score() > result.hits().get(1).score());
+    }
+
+    @Test
+    @DisplayName("search should only return posts of the requested blog")
+    void whenSearchWithBlog_thenFiltered() {
+        PostSearchIndex.Result result = index.search("threads sun", 20L, 10);
+
+        assertEquals(1, result.total());
+        assertEquals(3L, result.hits().get(0).postId());
+    }
+
+    @Test
+    @DisplayName("search should honour the limit but report every match")
+    void whenLimited_thenTotalStillCountsAll() {
+        PostSearchIndex.Result result = index.search("threads", null, 1);
+
+        assertEquals(2, result.total());
+        assertEquals(1, result.hits().size());
+    }
+
+    @Test
+    @DisplayName("an update should replace the indexed terms of a post")
+    void whenUpserted_thenOldTermsAreGone() {
+        index.upsert(3L, 20L, "Composting", "Kitchen scraps become soil.");
+
+        assertEquals(0, index.search("tomatoes", null, 10).total());
+        assertEquals("Composting", index.search("soil", null, 10).hits().get(0).title());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    @DisplayName("removing a post or a blog should drop it from results")
+    void whenRemoved_thenNotFound() {
+        index.remove(1L);
+        index.removeBlog(20L);
+
+        assertEquals(List.of(2L), index.search("threads sun", null, 10).hits().stream()
+                .map(PostSearchIndex.Hit::postId)
+                .toList());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("compaction should keep results intact after many updates")
+    void whenManyUpdates_thenCompactedIndexStillAnswers() {
+        for (int i = 0; i < 5_000; i++) {
+            index.upsert(2L, 10L, "Connection pools " + i, "Sizing a pool: threads wait for connections.");
+        }
+
+        assertEquals(3, index.size());
+        assertEquals(2, index.search("threads", null, 10).total());
+        assertEquals("Connection pools 4999", index.search("pools", null, 10).hits().get(0).title());
+    }
+
+    @Test
+    @DisplayName("a query matching thousands of posts should count and rank them all")
+    void whenManyMatches_thenAllScored() {
+        for (long id = 100; id < 3_100; id++) {
+            index.upsert(id, 30L, "Batch " + id, id % 2 == 0 ? "threads and pools" : "threads");
+        }
+
+        PostSearchIndex.Result result = index.search("threads pools", 30L, 5);
+
+        assertEquals(3_000, result.total());
+        assertEquals(5, result.hits().size());
+        assertEquals(3_098L, result.hits().get(0).postId());
+        assertTrue(result.hits().get(4).score() > index.search("threads", 30L, 1).hits().get(0).score());
+    }
+}
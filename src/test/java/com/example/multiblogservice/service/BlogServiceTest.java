@@ -1,6 +1,11 @@
 package com.example.multiblogservice.service;
 
+import com.example.multiblogservice.cache.BlogNameIndex;
+import com.example.multiblogservice.cache.DtoCache;
 import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.BlogSummaryDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
 import com.example.multiblogservice.model.Blog;
 import com.example.multiblogservice.repository.BlogRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,8 +14,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -25,6 +33,15 @@ public class BlogServiceTest {
     @Mock
     private BlogRepository blogRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BlogNameIndex blogNameIndex;
+
+    @Spy
+    private DtoCache dtoCache = new DtoCache(1, 1, Duration.ofMinutes(1));
+
     @InjectMocks
     private BlogService blogService;
 
@@ -40,10 +57,25 @@ public class BlogServiceTest {
         testBlog.setUpdatedAt(LocalDateTime.now());
     }
 
+    @Test
+    @DisplayName("getAllBlogSummaries should return the aggregate summaries from the repository")
+    void whenGetAllBlogSummaries_thenReturnSummaryList() {
+        BlogSummaryDTO summary = new BlogSummaryDTO(1L, "Test Blog", "This is a test blog",
+                testBlog.getCreatedAt(), testBlog.getUpdatedAt(), 3L, LocalDateTime.now());
+        when(blogRepository.findAllSummaries()).thenReturn(List.of(summary));
+
+        List<BlogSummaryDTO> result = blogService.getAllBlogSummaries();
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getPostCount());
+        verify(blogRepository, never()).findAll();
+        verify(blogRepository, never()).findAllWithPosts();
+    }
+
     @Test
     @DisplayName("getAllBlogs should return a list of BlogDTOs")
     void whenGetAllBlogs_thenReturnBlogDTOList() {
-        when(blogRepository.findAll()).thenReturn(List.of(testBlog));
+        when(blogRepository.findAllWithPosts()).thenReturn(List.of(testBlog));
 
         List<BlogDTO> result = blogService.getAllBlogs();
 
@@ -56,7 +88,7 @@ public class BlogServiceTest {
     @Test
     @DisplayName("getBlogById should return a BlogDTO when blog exists")
     void whenGetBlogById_thenReturnBlogDTO() {
-        when(blogRepository.findById(1L)).thenReturn(Optional.of(testBlog));
+        when(blogRepository.findWithPostsById(1L)).thenReturn(Optional.of(testBlog));
 
         Optional<BlogDTO> result = blogService.getBlogById(1L);
 
@@ -65,10 +97,22 @@ public class BlogServiceTest {
         assertEquals("This is a test blog", result.get().getDescription());
     }
 
+    @Test
+    @DisplayName("getBlogById should serve repeat reads from the cache")
+    void whenGetBlogByIdTwice_thenRepositoryIsQueriedOnce() {
+        when(blogRepository.findWithPostsById(1L)).thenReturn(Optional.of(testBlog));
+
+        blogService.getBlogById(1L);
+        Optional<BlogDTO> result = blogService.getBlogById(1L);
+
+        assertTrue(result.isPresent());
+        verify(blogRepository, times(1)).findWithPostsById(1L);
+    }
+
     @Test
     @DisplayName("getBlogById should return empty when blog doesn't exist")
     void whenGetBlogByNonExistentId_thenReturnEmpty() {
-        when(blogRepository.findById(99L)).thenReturn(Optional.empty());
+        when(blogRepository.findWithPostsById(99L)).thenReturn(Optional.empty());
 
         Optional<BlogDTO> result = blogService.getBlogById(99L);
 
@@ -110,5 +154,15 @@ public class BlogServiceTest {
         blogService.deleteBlog(1L);
 
         verify(blogRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new BlogChangedEvent(1L, ChangeType.DELETED));
+    }
+
+    @Test
+    @DisplayName("resolveBlogId should answer from the name index without querying")
+    void whenResolveBlogId_thenAnsweredByIndex() {
+        when(blogNameIndex.resolve("test-blog")).thenReturn(Optional.of(1L));
+
+        assertEquals(Optional.of(1L), blogService.resolveBlogId("test-blog"));
+        verifyNoInteractions(blogRepository);
     }
 }
@@ -0,0 +1,139 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.FeedItemDTO;
+import com.example.multiblogservice.dto.FeedPageDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Feed Service Tests")
+public class FeedServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FeedService feedService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        feedService = new FeedService(postRepository, transactionManager, 3);
+    }
+
+    @Test
+    @DisplayName("the first page should come from the in-memory head without a query")
+    void whenFirstPageFitsInHead_thenNoQuery() {
+        when(postRepository.findLatestFeedItems(any())).thenReturn(List.of(item(9, 1, 9), item(8, 2, 8), item(7, 1, 7)));
+        feedService.start();
+        clearInvocations(postRepository);
+
+        FeedPageDTO page = feedService.getFeed(null, null, 2);
+
+        assertEquals(List.of(9L, 8L), ids(page));
+        assertNotNull(page.getNext());
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("a page past the head should continue from the global index")
+    void whenPageRunsPastHead_thenQueriesFromCursor() {
+        when(postRepository.findLatestFeedItems(any())).thenReturn(List.of(item(9, 1, 9), item(8, 2, 8), item(7, 1, 7)));
+        feedService.start();
+        FeedPageDTO first = feedService.getFeed(null, null, 2);
+        when(postRepository.findFeedItemsBefore(eq(at(8)), eq(8L), any())).thenReturn(List.of(item(7, 1, 7), item(6, 2, 6)));
+
+        FeedPageDTO second = feedService.getFeed(null, first.getNext(), 2);
+
+        assertEquals(List.of(7L, 6L), ids(second));
+        assertNull(second.getNext());
+    }
+
+    @Test
+    @DisplayName("a blog subset the head cannot answer should be merged from per-blog streams")
+    void whenBlogSubsetMissesHead_thenStreamsAreMergedNewestFirst() {
+        when(postRepository.findLatestFeedItems(any())).thenReturn(List.of(item(9, 1, 9), item(8, 1, 8), item(7, 1, 7)));
+        feedService.start();
+        when(postRepository.findLatestFeedItemsByBlogId(eq(2L), any())).thenReturn(List.of(item(6, 2, 6), item(3, 2, 3)));
+        when(postRepository.findLatestFeedItemsByBlogId(eq(3L), any())).thenReturn(List.of(item(5, 3, 5), item(4, 3, 4), item(2, 3, 2)));
+
+        FeedPageDTO page = feedService.getFeed(List.of(2L, 3L), null, 3);
+
+        assertEquals(List.of(6L, 5L, 4L), ids(page));
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    @DisplayName("committed posts should appear in the head, deleted blogs should leave it")
+    void whenPostsChange_thenHeadFollows() {
+        when(postRepository.findLatestFeedItems(any())).thenReturn(List.of(item(2, 1, 2), item(1, 2, 1)));
+        feedService.start();
+        when(postRepository.findFeedItemsByIdIn(List.of(3L))).thenReturn(List.of(item(3, 2, 3)));
+
+        feedService.onPostChanged(new PostChangedEvent(2L, 3L, ChangeType.CREATED));
+        assertEquals(List.of(3L, 2L, 1L), ids(feedService.getFeed(null, null, 10)));
+
+        feedService.onBlogChanged(new BlogChangedEvent(2L, ChangeType.DELETED));
+        assertEquals(List.of(2L), ids(feedService.getFeed(null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("a post deleted while the head reloads should not come back with the reloaded rows")
+    void whenPostDeletedDuringRebuild_thenDeletionReplayed() {
+        when(postRepository.findLatestFeedItems(any())).thenAnswer(invocation -> {
+            feedService.onPostChanged(new PostChangedEvent(1L, 9L, ChangeType.DELETED));
+            return List.of(item(9, 1, 9), item(8, 2, 8), item(7, 1, 7));
+        });
+        when(postRepository.findFeedItemsByIdIn(List.of(9L))).thenReturn(List.of());
+
+        feedService.start();
+
+        assertEquals(List.of(8L, 7L), ids(feedService.getFeed(null, null, 10)));
+    }
+
+    @Test
+    @DisplayName("too many blog ids should be rejected")
+    void whenTooManyBlogs_thenBadRequest() {
+        List<Long> blogIds = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThrows(BadRequestException.class, () -> feedService.getFeed(blogIds, null, 10));
+        verify(postRepository, never()).findLatestFeedItemsByBlogId(anyLong(), any());
+    }
+
+    private static FeedItemDTO item(long id, long blogId, int minutes) {
+        return new FeedItemDTO(id, blogId, "Post " + id, at(minutes), at(minutes));
+    }
+
+    private static LocalDateTime at(int minutes) {
+        return T0.plusMinutes(minutes);
+    }
+
+    private static List<Long> ids(FeedPageDTO page) {
+        return page.getItems().stream().map(FeedItemDTO::getId).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Post Export Service Tests")
+public class PostExportServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostExportService postExportService;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        ObjectMapper objectMapper = new ObjectMapper();
+        postExportService = new PostExportService(postRepository, entityManager, transactionManager, objectMapper);
+    }
+
+    @Test
+    @DisplayName("every post should be one JSON line with no separator in front, written without a flush per post")
+    void whenExportPosts_thenOneUnprefixedLinePerPostAndNoPerPostFlush() throws Exception {
+        when(postRepository.streamByBlogId(1L)).thenReturn(LongStream.rangeClosed(1, 50).mapToObj(PostExportServiceTest::post));
+        CountingFlushes out = new CountingFlushes();
+
+        long written = postExportService.exportPosts(1L, out);
+
+        assertEquals(50, written);
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(50, lines.size());
+        assertTrue(lines.stream().allMatch(line -> line.startsWith("{\"id\":")), lines.get(1));
+        assertTrue(out.flushes <= 2, "flushed " + out.flushes + " times");
+        verify(entityManager, times(50)).detach(any(Post.class));
+    }
+
+    private static Post post(long id) {
+        Blog blog = new Blog();
+        blog.setId(1L);
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Post " + id);
+        post.setContent("Content " + id);
+        post.setBlog(blog);
+        return post;
+    }
+
+    private static final class CountingFlushes extends ByteArrayOutputStream {
+
+        private int flushes;
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.BulkIngestResultDTO;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Post Ingest Service Tests")
+public class PostIngestServiceTest {
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private PostIngestService postIngestService;
+
+    @BeforeEach
+    void setUp() {
+        when(blogRepository.existsById(1L)).thenReturn(true);
+        lenient().when(validator.validate(any())).thenReturn(Set.of());
+        postIngestService = new PostIngestService(blogRepository, entityManager, new TransactionTemplate(transactionManager),
+                new ObjectMapper(), validator, eventPublisher, 4);
+    }
+
+    @Test
+    @DisplayName("a batch the database rejects should be retried so only the offending line is rejected")
+    void whenOneRowRejected_thenOnlyThatLineFails() throws Exception {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        doThrow(new PersistenceException("value too long"))
+                .when(entityManager).persist(argThat((Post post) -> "Post 6".equals(post.getTitle())));
+
+        BulkIngestResultDTO result = postIngestService.ingest(1L, body(10));
+
+        assertEquals(10, result.getReceived());
+        assertEquals(9, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(6, result.getErrors().get(0).getLine());
+        // The rejected batch 5-8 was retried as 5-6, 5, 6 and 7-8.
+        verify(transactionManager, times(7)).getTransaction(any());
+        verify(eventPublisher, atLeast(9)).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("a database that cannot begin a transaction should reject the batch without retries")
+    void whenNoTransaction_thenBatchRejectedOnce() throws Exception {
+        when(transactionManager.getTransaction(any())).thenThrow(new CannotCreateTransactionException("no connection"));
+
+        BulkIngestResultDTO result = postIngestService.ingest(1L, body(4));
+
+        assertEquals(0, result.getCreated());
+        assertEquals(4, result.getFailed());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verifyNoInteractions(entityManager);
+    }
+
+    private static ByteArrayInputStream body(int posts) {
+        String lines = IntStream.rangeClosed(1, posts)
+                .mapToObj(i -> "{\"title\":\"Post " + i + "\",\"content\":\"Content " + i + "\"}")
+                .collect(Collectors.joining("\n"));
+        return new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+    }
+}
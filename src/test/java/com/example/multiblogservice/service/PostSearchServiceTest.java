@@ -0,0 +1,172 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.SearchResultDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.exception.ServiceUnavailableException;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.PostRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Post Search Service Tests")
+public class PostSearchServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostSearchService postSearchService;
+
+    private Blog blog;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        postSearchService = new PostSearchService(postRepository, entityManager, transactionManager, Duration.ofMillis(10));
+        blog = new Blog();
+        blog.setId(1L);
+    }
+
+    @Test
+    @DisplayName("search should answer 503 until the index has been built")
+    void whenNotBuilt_thenThrowServiceUnavailable() {
+        assertThrows(ServiceUnavailableException.class, () -> postSearchService.search("java", null, 10));
+    }
+
+    @Test
+    @DisplayName("search should reject a blank query")
+    void whenBlankQuery_thenThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> postSearchService.search("  ", null, 10));
+    }
+
+    @Test
+    @DisplayName("rebuild should index every streamed post")
+    void whenRebuilt_thenPostsAreSearchable() {
+        when(postRepository.streamAll()).thenReturn(Stream.of(post(1L, "Java records", "Records are immutable.")));
+
+        postSearchService.rebuild();
+        SearchResultDTO result = postSearchService.search("records", null, 10);
+
+        assertTrue(postSearchService.isReady());
+        assertEquals(1, result.getTotal());
+        assertEquals(1L, result.getHits().get(0).getPostId());
+        verify(entityManager).detach(any(Post.class));
+    }
+
+    @Test
+    @DisplayName("post changes outside a transaction should reload and reindex the post")
+    void whenPostChanged_thenIndexFollows() {
+        when(postRepository.streamAll()).thenReturn(Stream.empty());
+        postSearchService.rebuild();
+        when(postRepository.findAllById(List.of(2L))).thenReturn(List.of(post(2L, "Kotlin coroutines", "Suspend functions.")));
+
+        postSearchService.onPostChanged(new PostChangedEvent(1L, 2L, ChangeType.CREATED));
+        assertEquals(1, postSearchService.search("coroutines", 1L, 10).getTotal());
+
+        postSearchService.onPostChanged(new PostChangedEvent(1L, 2L, ChangeType.DELETED));
+        assertEquals(0, postSearchService.search("coroutines", 1L, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("deleting a blog should drop its posts from the index")
+    void whenBlogDeleted_thenPostsRemoved() {
+        when(postRepository.streamAll()).thenReturn(Stream.of(post(3L, "Go channels", "Channels and goroutines.")));
+        postSearchService.rebuild();
+
+        postSearchService.onBlogChanged(new BlogChangedEvent(1L, ChangeType.DELETED));
+
+        assertEquals(0, postSearchService.search("channels", null, 10).getTotal());
+    }
+
+    @Test
+    @DisplayName("a rebuild should keep serving the old index and replay changes made while it ran")
+    void whenRebuiltWhileServing_thenOldIndexServesAndChangesReplayed() {
+        when(postRepository.streamAll()).thenReturn(Stream.of(post(1L, "Java records", "Records are immutable.")));
+        postSearchService.rebuild();
+        when(postRepository.streamAll()).thenAnswer(invocation -> {
+            assertEquals(1, postSearchService.search("records", null, 10).getTotal());
+            postSearchService.onPostChanged(new PostChangedEvent(1L, 1L, ChangeType.DELETED));
+            return Stream.of(post(1L, "Java records", "Records are immutable."), post(2L, "Java streams", "Lazy pipelines."));
+        });
+        when(postRepository.findAllById(List.of(1L))).thenReturn(List.of());
+
+        postSearchService.rebuildInBackground();
+
+        await(() -> postSearchService.search("streams", null, 10).getTotal() == 1
+                && postSearchService.search("records", null, 10).getTotal() == 0);
+        verify(postRepository).findAllById(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("a failed build should leave search unavailable and be retried until it succeeds")
+    void whenBuildFails_thenRetried() {
+        when(postRepository.streamAll())
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenThrow(new IllegalStateException("connection refused"))
+                .thenReturn(Stream.of(post(1L, "Java records", "Records are immutable.")));
+
+        assertThrows(IllegalStateException.class, () -> postSearchService.rebuild());
+        assertFalse(postSearchService.isReady());
+        postSearchService.rebuildInBackground();
+
+        await(() -> postSearchService.isReady() && postSearchService.search("records", null, 10).getTotal() == 1);
+        verify(postRepository, times(3)).streamAll();
+    }
+
+    @Test
+    @DisplayName("a failed rebuild should keep the index that was serving")
+    void whenRebuildFails_thenOldIndexKept() {
+        when(postRepository.streamAll())
+                .thenReturn(Stream.of(post(1L, "Java records", "Records are immutable.")))
+                .thenThrow(new IllegalStateException("connection refused"));
+        postSearchService.rebuild();
+
+        assertThrows(IllegalStateException.class, () -> postSearchService.rebuild());
+
+        assertTrue(postSearchService.isReady());
+        assertEquals(1, postSearchService.search("records", null, 10).getTotal());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 seconds");
+            Thread.onSpinWait();
+        }
+    }
+
+    private Post post(Long id, String title, String content) {
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        post.setContent(content);
+        post.setBlog(blog);
+        return post;
+    }
+}
@@ -1,6 +1,12 @@
 package com.example.multiblogservice.service;
 
+import com.example.multiblogservice.cache.DtoCache;
 import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
 import com.example.multiblogservice.exception.ResourceNotFoundException;
 import com.example.multiblogservice.model.Blog;
 import com.example.multiblogservice.model.Post;
@@ -11,8 +17,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -27,6 +37,12 @@ public class PostServiceTest {
     @Mock
     private PostRepository postRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private DtoCache dtoCache = new DtoCache(1, 1, Duration.ofMinutes(1));
+
     @InjectMocks
     private PostService postService;
 
@@ -61,6 +77,51 @@ public class PostServiceTest {
         assertEquals("This is a test post content", result.get(0).getContent());
     }
 
+    @Test
+    @DisplayName("getPostsPage should return a next cursor when more posts exist")
+    void whenGetPostsPageWithMoreResults_thenReturnNextCursor() {
+        Post second = new Post();
+        second.setId(2L);
+        second.setTitle("Second Post");
+        second.setBlog(testBlog);
+        second.setCreatedAt(testPost.getCreatedAt().plusSeconds(1));
+        when(postRepository.findFirstPageByBlogId(1L, PageRequest.of(0, 2))).thenReturn(List.of(testPost, second));
+
+        PostPageDTO page = postService.getPostsPage(1L, null, 1);
+
+        assertEquals(1, page.getPosts().size());
+        assertEquals("Test Post", page.getPosts().get(0).getTitle());
+        assertEquals(1, page.getLimit());
+        assertNotNull(page.getNext());
+
+        when(postRepository.findPageByBlogIdAfter(1L, testPost.getCreatedAt(), 1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(second));
+
+        PostPageDTO nextPage = postService.getPostsPage(1L, page.getNext(), 1);
+
+        assertEquals("Second Post", nextPage.getPosts().get(0).getTitle());
+        assertNull(nextPage.getNext());
+    }
+
+    @Test
+    @DisplayName("getPostsPage should clamp the limit to the maximum page size")
+    void whenGetPostsPageWithHugeLimit_thenClampLimit() {
+        when(postRepository.findFirstPageByBlogId(1L, PageRequest.of(0, 101))).thenReturn(List.of(testPost));
+
+        PostPageDTO page = postService.getPostsPage(1L, null, 10_000);
+
+        assertEquals(100, page.getLimit());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    @DisplayName("getPostsPage should reject a malformed cursor")
+    void whenGetPostsPageWithInvalidCursor_thenThrowException() {
+        assertThrows(BadRequestException.class, () -> postService.getPostsPage(1L, "not-a-cursor", 10));
+
+        verifyNoInteractions(postRepository);
+    }
+
     @Test
     @DisplayName("getPostById should return a PostDTO when post exists")
     void whenGetPostById_thenReturnPostDTO() {
@@ -73,6 +134,61 @@ public class PostServiceTest {
         assertEquals("This is a test post content", result.get().getContent());
     }
 
+    @Test
+    @DisplayName("getPostById should serve repeat reads from the cache")
+    void whenGetPostByIdTwice_thenRepositoryIsQueriedOnce() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+
+        postService.getPostById(1L);
+        Optional<PostDTO> result = postService.getPostById(1L);
+
+        assertTrue(result.isPresent());
+        assertEquals(1L, result.get().getBlogId());
+        verify(postRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("getPostVersion should read only the timestamp when the post is not cached")
+    void whenGetPostVersionUncached_thenQueryTimestampOnly() {
+        when(postRepository.findUpdatedAtById(1L)).thenReturn(Optional.of(testPost.getUpdatedAt()));
+
+        Optional<ResourceVersion> version = postService.getPostVersion(1L);
+
+        assertTrue(version.isPresent());
+        assertTrue(version.get().etag().startsWith("\"p1-"));
+        verify(postRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    @DisplayName("getPostsVersion should tag the list by its newest update and size, without Last-Modified")
+    void whenGetPostsVersion_thenEtagOnly() {
+        PostRepository.PostsVersion posts = mock(PostRepository.PostsVersion.class);
+        when(posts.getLatestUpdatedAt()).thenReturn(testPost.getUpdatedAt());
+        when(posts.getPostCount()).thenReturn(3L);
+        when(postRepository.findPostsVersionByBlogId(1L)).thenReturn(posts);
+
+        ResourceVersion version = postService.getPostsVersion(1L).orElseThrow();
+
+        assertTrue(version.etag().startsWith("\"l1-"));
+        assertTrue(version.etag().endsWith("-3\""));
+        // A deletion moves no timestamp, so If-Modified-Since must not be able to answer 304.
+        assertEquals(-1, version.lastModified());
+    }
+
+    @Test
+    @DisplayName("getPostVersion should match whether it is computed from the cache or the database")
+    void whenGetPostVersionCached_thenSkipDatabase() {
+        when(postRepository.findUpdatedAtById(1L)).thenReturn(Optional.of(testPost.getUpdatedAt()));
+        Optional<ResourceVersion> fromDatabase = postService.getPostVersion(1L);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
+        postService.getPostById(1L);
+
+        Optional<ResourceVersion> fromCache = postService.getPostVersion(1L);
+
+        assertEquals(fromDatabase, fromCache);
+        verify(postRepository, times(1)).findUpdatedAtById(1L);
+    }
+
     @Test
     @DisplayName("getPostById should return empty when post doesn't exist")
     void whenGetPostByNonExistentId_thenReturnEmpty() {
@@ -110,6 +226,7 @@ public class PostServiceTest {
         assertTrue(result.isPresent());
         assertEquals("Updated Post", result.get().getTitle());
         assertEquals("This is an updated post content", result.get().getContent());
+        verify(eventPublisher).publishEvent(new PostChangedEvent(1L, 1L, ChangeType.UPDATED));
     }
 
     @Test
@@ -120,6 +237,7 @@ public class PostServiceTest {
         postService.deletePost(1L);
 
         verify(postRepository, times(1)).delete(testPost);
+        verify(eventPublisher).publishEvent(new PostChangedEvent(1L, 1L, ChangeType.DELETED));
     }
 
     @Test
@@ -0,0 +1,204 @@
+package com.example.multiblogservice.service;
+
+import com.example.multiblogservice.dto.SyncChangeDTO;
+import com.example.multiblogservice.dto.SyncPageDTO;
+import com.example.multiblogservice.event.BlogChangedEvent;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.exception.BadRequestException;
+import com.example.multiblogservice.exception.ResourceNotFoundException;
+import com.example.multiblogservice.model.Blog;
+import com.example.multiblogservice.model.ChangeLogEntry;
+import com.example.multiblogservice.model.Post;
+import com.example.multiblogservice.repository.BlogRepository;
+import com.example.multiblogservice.repository.ChangeLogRepository;
+import com.example.multiblogservice.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Sync Service Tests")
+public class SyncServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private BlogRepository blogRepository;
+
+    private SyncService syncService;
+
+    @BeforeEach
+    void setUp() {
+        syncService = new SyncService(changeLogRepository, postRepository, blogRepository, Duration.ofDays(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        new ArrayList<>(TransactionSynchronizationManager.getResourceMap().keySet())
+                .forEach(TransactionSynchronizationManager::unbindResource);
+    }
+
+    @Test
+    @DisplayName("a page should carry upserts with their posts and tombstones in sequence order")
+    void whenChangesSince_thenUpsertsAndTombstonesInOrder() {
+        when(changeLogRepository.findPage(eq(1L), eq(10L), any()))
+                .thenReturn(List.of(entry(11, 5L, ChangeLogEntry.UPSERT), entry(12, 6L, ChangeLogEntry.DELETE)));
+        when(postRepository.findAllById(List.of(5L))).thenReturn(List.of(post(5L)));
+        when(changeLogRepository.findPurgedThrough()).thenReturn(0L);
+
+        SyncPageDTO page = syncService.getChanges(1L, 10, 100);
+
+        assertEquals(List.of("upsert", "delete"), page.getChanges().stream().map(SyncChangeDTO::getType).toList());
+        assertEquals("Post 5", page.getChanges().get(0).getPost().getTitle());
+        assertNull(page.getChanges().get(1).getPost());
+        assertEquals(12L, page.getNext());
+        assertFalse(page.isHasMore());
+        assertFalse(page.isResync());
+    }
+
+    @Test
+    @DisplayName("one row past the limit should set hasMore and end the page at the limit")
+    void whenMoreRowsThanLimit_thenHasMore() {
+        when(changeLogRepository.findPage(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(entry(1, 5L, ChangeLogEntry.DELETE), entry(2, 6L, ChangeLogEntry.DELETE)));
+
+        SyncPageDTO page = syncService.getChanges(1L, 0, 1);
+
+        assertEquals(1, page.getChanges().size());
+        assertEquals(1L, page.getNext());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    @DisplayName("a cursor older than the purged tombstones should ask for a resync")
+    void whenCursorBeforePurgeHorizon_thenResync() {
+        when(changeLogRepository.findPage(eq(1L), eq(3L), any())).thenReturn(List.of());
+        when(changeLogRepository.findPurgedThrough()).thenReturn(7L);
+
+        SyncPageDTO page = syncService.getChanges(1L, 3, 100);
+
+        assertTrue(page.isResync());
+        assertTrue(page.getChanges().isEmpty());
+        assertEquals(0L, page.getNext());
+    }
+
+    @Test
+    @DisplayName("an unknown blog should be reported as not found, a negative cursor as a bad request")
+    void whenUnknownBlogOrNegativeCursor_thenException() {
+        when(changeLogRepository.findPage(eq(9L), eq(0L), any())).thenReturn(List.of());
+        when(blogRepository.existsById(9L)).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> syncService.getChanges(9L, 0, 100));
+        assertThrows(BadRequestException.class, () -> syncService.getChanges(9L, -1, 100));
+    }
+
+    @Test
+    @DisplayName("a transaction's changes should be appended once before commit, last change per post winning")
+    void whenTransactionCommits_thenChangesAppendedUnderLock() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        syncService.onPostChanged(new PostChangedEvent(1L, 5L, ChangeType.CREATED));
+        syncService.onPostChanged(new PostChangedEvent(1L, 5L, ChangeType.UPDATED));
+        syncService.onPostChanged(new PostChangedEvent(1L, 6L, ChangeType.DELETED));
+        syncService.onPostChanged(new PostChangedEvent(2L, 7L, ChangeType.UPDATED));
+        syncService.onBlogChanged(new BlogChangedEvent(2L, ChangeType.DELETED));
+        syncService.onPostChanged(new PostChangedEvent(1L, 8L, ChangeType.CREATED));
+        verifyNoInteractions(changeLogRepository);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        InOrder inOrder = inOrder(changeLogRepository);
+        inOrder.verify(changeLogRepository).lockBlogForAppend(1L);
+        inOrder.verify(changeLogRepository).lockBlogForAppend(2L);
+        inOrder.verify(changeLogRepository).insertUpserts(List.of(5L, 8L));
+        inOrder.verify(changeLogRepository).insertTombstones(List.of(6L));
+        inOrder.verify(changeLogRepository).deleteSuperseded(List.of(5L, 8L, 6L));
+        inOrder.verify(changeLogRepository).deleteBlogEntries(2L);
+        inOrder.verify(changeLogRepository).insertBlogTombstone(2L);
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    @DisplayName("changes replayed outside a transaction should not be logged again")
+    void whenNoTransaction_thenNothingLogged() {
+        syncService.onPostChanged(new PostChangedEvent(1L, 5L, ChangeType.UPDATED));
+
+        verifyNoInteractions(changeLogRepository);
+    }
+
+    @Test
+    @DisplayName("the purge should drop expired tombstones and move the horizon past them")
+    void whenTombstonesExpired_thenPurgedAndHorizonAdvanced() {
+        when(changeLogRepository.findLastTombstoneBefore(any(LocalDateTime.class))).thenReturn(Optional.of(40L));
+
+        syncService.purgeTombstones();
+
+        InOrder inOrder = inOrder(changeLogRepository);
+        inOrder.verify(changeLogRepository).lockHorizon();
+        inOrder.verify(changeLogRepository).advancePurgedThrough(40L);
+        inOrder.verify(changeLogRepository).deleteTombstonesThrough(40L);
+    }
+
+    @Test
+    @DisplayName("the purge should change nothing when no tombstone has expired")
+    void whenNoTombstoneExpired_thenNothingPurged() {
+        when(changeLogRepository.findLastTombstoneBefore(any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        syncService.purgeTombstones();
+
+        verify(changeLogRepository, never()).lockHorizon();
+        verify(changeLogRepository, never()).deleteTombstonesThrough(anyLong());
+    }
+
+    private static ChangeLogEntry entry(long seq, Long postId, String type) {
+        ChangeLogEntry entry = new ChangeLogEntry();
+        entry.setSeq(seq);
+        entry.setBlogId(1L);
+        entry.setPostId(postId);
+        entry.setChangeType(type);
+        entry.setChangedAt(LocalDateTime.of(2024, 5, 1, 12, 0));
+        return entry;
+    }
+
+    private static Post post(Long id) {
+        Blog blog = new Blog();
+        blog.setId(1L);
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Post " + id);
+        post.setContent("Content " + id);
+        post.setBlog(blog);
+        return post;
+    }
+}
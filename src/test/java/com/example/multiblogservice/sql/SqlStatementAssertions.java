@@ -0,0 +1,35 @@
+package com.example.multiblogservice.sql;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+
+/**
+ * Exact SQL statement count assertions, so that an added round trip fails the build.
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * Matches the number of statements a MockMvc request executed, as reported by {@link SqlStatementFilter}.
+     */
+    public static ResultMatcher statementCount(int expected) {
+        return header().string(SqlStatementFilter.STATEMENTS_HEADER, String.valueOf(expected));
+    }
+
+    /**
+     * Runs the action on the current thread and asserts how many statements it executed.
+     */
+    public static <T> T assertStatementCount(int expected, Callable<T> action) throws Exception {
+        try (SqlStatementCounter.Stats stats = SqlStatementCounter.start()) {
+            T result = action.call();
+            assertEquals(expected, stats.getStatements(), "SQL statements executed");
+            return result;
+        }
+    }
+}
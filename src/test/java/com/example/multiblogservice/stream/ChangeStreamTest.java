@@ -0,0 +1,85 @@
+package com.example.multiblogservice.stream;
+
+import com.example.multiblogservice.cache.NodeIdentity;
+import com.example.multiblogservice.event.ChangeType;
+import com.example.multiblogservice.event.PostChangedEvent;
+import com.example.multiblogservice.exception.ServiceUnavailableException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Change Stream Tests")
+public class ChangeStreamTest {
+
+    // Never runs its tasks, so no subscriber ever drains its queue.
+    @Mock
+    private ExecutorService senders;
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("a subscriber that does not drain should be disconnected and counted once its buffer is full")
+    void whenBufferFull_thenSubscriberDisconnectedAndCounted() {
+        ChangeStream stream = changeStream(2);
+        stream.subscribe(1L, null);
+        stream.subscribe(2L, null);
+        verify(senders, never()).execute(any());
+
+        stream.onPostChanged(new PostChangedEvent(1L, 10L, ChangeType.CREATED));
+        assertEquals(2, stream.subscriberCount());
+        assertEquals(0, overflows());
+
+        stream.onPostChanged(new PostChangedEvent(1L, 11L, ChangeType.CREATED));
+        stream.onPostChanged(new PostChangedEvent(1L, 12L, ChangeType.CREATED));
+
+        assertEquals(1, stream.subscriberCount());
+        assertEquals(1, overflows());
+        // One drain for the first event, one completion of the dropped connection.
+        ArgumentCaptor<Runnable> tasks = ArgumentCaptor.forClass(Runnable.class);
+        verify(senders, times(2)).execute(tasks.capture());
+        assertDoesNotThrow(() -> tasks.getAllValues().get(1).run());
+    }
+
+    @Test
+    @DisplayName("subscribing past max-subscribers should be refused with 503 until a slot frees up")
+    void whenAtSubscriberCap_thenServiceUnavailable() {
+        ChangeStream stream = changeStream(1);
+        stream.subscribe(1L, null);
+
+        assertThrows(ServiceUnavailableException.class, () -> stream.subscribe(2L, null));
+
+        stream.onPostChanged(new PostChangedEvent(1L, 10L, ChangeType.CREATED));
+        stream.onPostChanged(new PostChangedEvent(1L, 11L, ChangeType.CREATED));
+        assertEquals(0, stream.subscriberCount());
+        assertNotNull(stream.subscribe(2L, null));
+    }
+
+    private ChangeStream changeStream(int maxSubscribers) {
+        ChangeStream stream = new ChangeStream(new ObjectMapper(), new NodeIdentity(), 16, 1, maxSubscribers,
+                Duration.ofMinutes(1), Duration.ofMinutes(1), 100, senders);
+        stream.bindTo(registry);
+        return stream;
+    }
+
+    private double overflows() {
+        return registry.get("multiblog.stream.overflows").functionCounter().count();
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.multiblogservice.views;
+
+import com.example.multiblogservice.dto.PostViewsDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Post View Counter Tests")
+public class PostViewCounterTest {
+
+    @Mock
+    private PostViewStore store;
+
+    private PostViewCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new PostViewCounter(store, Duration.ofSeconds(5), 2);
+    }
+
+    @Test
+    @DisplayName("a flush should write each post's views since the previous flush once")
+    void whenFlushed_thenDeltasWrittenOnce() {
+        counter.record(1L);
+        counter.record(1L);
+        counter.record(2L);
+
+        counter.flush();
+        counter.record(1L);
+        counter.flush();
+        counter.flush();
+
+        verify(store).addViews(List.of(1L, 2L), Map.of(1L, 2L, 2L, 1L));
+        verify(store).addViews(List.of(), Map.of(1L, 1L));
+        verifyNoMoreInteractions(store);
+    }
+
+    @Test
+    @DisplayName("a failed flush should keep the views for the next one")
+    void whenFlushFails_thenViewsKept() {
+        counter.record(1L);
+        doThrow(new DataAccessResourceFailureException("down")).doNothing().when(store).addViews(any(), anyMap());
+
+        counter.flush();
+        counter.record(1L);
+        counter.flush();
+
+        verify(store).addViews(List.of(1L), Map.of(1L, 1L));
+        verify(store).addViews(List.of(1L), Map.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("views of untracked posts beyond the key limit should be dropped until idle posts are flushed out")
+    void whenKeyLimitReached_thenNewPostsDroppedUntilIdleEvicted() {
+        counter.record(1L);
+        counter.record(2L);
+        counter.record(3L);
+        assertEquals(2, counter.trackedPosts());
+
+        counter.flush();
+        counter.flush();
+        assertEquals(0, counter.trackedPosts());
+
+        counter.record(3L);
+        assertEquals(1, counter.trackedPosts());
+    }
+
+    @Test
+    @DisplayName("reads should add the views not flushed yet to the stored count")
+    void whenViewsPending_thenReadsIncludeThem() {
+        counter.record(1L);
+        counter.record(1L);
+        when(store.findViews(7L, 1L)).thenReturn(Optional.of(10L));
+        when(store.findMostViewed(7L, 100)).thenReturn(List.of(new PostViewsDTO(2L, 11L), new PostViewsDTO(1L, 10L)));
+
+        assertEquals(12L, counter.getViews(7L, 1L).orElseThrow().getViews());
+        List<PostViewsDTO> mostViewed = counter.getMostViewed(7L, 1000);
+        assertEquals(List.of(1L, 2L), mostViewed.stream().map(PostViewsDTO::getPostId).toList());
+    }
+
+    @Test
+    @DisplayName("concurrent views of the same post should all be counted")
+    void whenViewedConcurrently_thenNoViewLost() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            threads.execute(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    counter.record(1L);
+                }
+            });
+        }
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        counter.flush();
+
+        verify(store).addViews(List.of(1L), Map.of(1L, 80_000L));
+    }
+
+    @Test
+    @DisplayName("stopping should flush the remaining views")
+    void whenStopped_thenFinalFlush() {
+        counter.start();
+        counter.record(1L);
+
+        counter.stop();
+
+        verify(store).addViews(List.of(1L), Map.of(1L, 1L));
+        assertFalse(counter.isRunning());
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.multiblogservice.warmup;
+
+import com.example.multiblogservice.cache.ResponseBodyCache;
+import com.example.multiblogservice.dto.BlogDTO;
+import com.example.multiblogservice.dto.BlogSummaryDTO;
+import com.example.multiblogservice.dto.PostDTO;
+import com.example.multiblogservice.dto.PostPageDTO;
+import com.example.multiblogservice.dto.ResourceVersion;
+import com.example.multiblogservice.service.BlogService;
+import com.example.multiblogservice.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Warm-up Runner Tests")
+public class WarmUpRunnerTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Mock
+    private BlogService blogService;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private ResponseBodyCache responseBodyCache;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(false);
+    }
+
+    @Test
+    @DisplayName("the most active blogs and their first page of posts should be cached")
+    void whenBlogsExist_thenCachesArePrefilled() {
+        givenBlogs(summary(1L, NOW.minusDays(3), 5L), summary(2L, NOW, 1L), summary(3L, null, 0L));
+        when(postService.getPostVersion(anyLong()))
+                .thenAnswer(invocation -> Optional.of(ResourceVersion.of("p", invocation.getArgument(0), NOW)));
+
+        WarmUpRunner.Report report = runner(Duration.ofMinutes(1), 2, 3).warmUp();
+
+        assertEquals("completed", report.outcome());
+        assertEquals(2, report.blogs());
+        assertEquals(2, report.posts());
+        assertEquals(3, report.iterations());
+        verify(blogService, times(1)).getAllBlogSummaries();
+        verify(postService, times(5)).getPostsPage(anyLong(), any(), anyInt());
+        verify(blogService).getBlogById(2L);
+        verify(blogService).getBlogById(1L);
+        verify(blogService, never()).getBlogById(3L);
+        verify(responseBodyCache).getPost(eq(20L), any(), any());
+        verify(responseBodyCache).getPost(eq(10L), any(), any());
+    }
+
+    @Test
+    @DisplayName("warm-up should stop once its budget is spent")
+    void whenBudgetIsSpent_thenStopsEarly() {
+        givenBlogs(summary(1L, NOW, 1L));
+
+        WarmUpRunner.Report report = runner(Duration.ZERO, 20, 200).warmUp();
+
+        assertEquals("budget-exhausted", report.outcome());
+        assertEquals(0, report.blogs());
+        verify(postService, never()).getPostsPage(anyLong(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("a failing read path should be reported, not thrown")
+    void whenReadFails_thenReportsFailure() {
+        when(blogService.getAllBlogSummaries()).thenThrow(new IllegalStateException("database unavailable"));
+
+        WarmUpRunner.Report report = runner(Duration.ofMinutes(1), 20, 200).warmUp();
+
+        assertEquals("failed", report.outcome());
+    }
+
+    @Test
+    @DisplayName("the pool's minimum idle connections should be opened and returned")
+    void whenPoolIsHikari_thenMinimumIdleConnectionsAreOpened() throws Exception {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        Connection connection = mock(Connection.class);
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(pool);
+        when(pool.getMinimumIdle()).thenReturn(3);
+        when(pool.getConnection()).thenReturn(connection);
+        givenBlogs();
+
+        WarmUpRunner.Report report = runner(Duration.ofMinutes(1), 20, 200).warmUp();
+
+        assertEquals(3, report.connections());
+        verify(pool, times(3)).getConnection();
+        verify(connection, times(3)).close();
+    }
+
+    @Test
+    @DisplayName("service timers started by warm-up calls should be removed once it is done")
+    void whenWarmUpDone_thenServiceTimersReset() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.timer("multiblog.service", "class", "BlogService", "method", "getAllBlogSummaries");
+        registry.timer("multiblog.sql.time");
+        when(meterRegistry.getIfAvailable()).thenReturn(registry);
+        givenBlogs();
+
+        runner(Duration.ofMinutes(1), 20, 200).run(null);
+
+        assertNull(registry.find("multiblog.service").timer());
+        assertNotNull(registry.find("multiblog.sql.time").timer());
+        assertEquals(1, registry.get("multiblog.warmup").tag("outcome", "completed").timer().count());
+    }
+
+    private WarmUpRunner runner(Duration budget, int topBlogs, int iterations) {
+        return new WarmUpRunner(blogService, postService, responseBodyCache, objectMapper, dataSource,
+                meterRegistry, budget, topBlogs, iterations);
+    }
+
+    private void givenBlogs(BlogSummaryDTO... summaries) {
+        when(blogService.getAllBlogSummaries()).thenReturn(List.of(summaries));
+        lenient().when(blogService.getBlogById(anyLong())).thenAnswer(invocation -> {
+            BlogDTO blog = new BlogDTO();
+            blog.setId(invocation.getArgument(0));
+            return Optional.of(blog);
+        });
+        lenient().when(postService.getPostsPage(anyLong(), any(), anyInt())).thenAnswer(invocation -> {
+            Long blogId = invocation.getArgument(0);
+            PostDTO post = new PostDTO();
+            post.setId(blogId * 10);
+            post.setBlogId(blogId);
+            PostPageDTO page = new PostPageDTO();
+            page.setPosts(List.of(post));
+            return page;
+        });
+    }
+
+    private static BlogSummaryDTO summary(Long id, LocalDateTime latestPostAt, Long postCount) {
+        return new BlogSummaryDTO(id, "Blog " + id, "Description", NOW, NOW, postCount, latestPostAt);
+    }
+}